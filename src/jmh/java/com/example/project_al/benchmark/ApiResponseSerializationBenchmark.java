@@ -0,0 +1,60 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+import com.example.project_al.modules.order.domain.OrderStatus;
+import com.example.project_al.modules.order.infrastructure.OrderSummary;
+import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private ApiResponse<List<ProductSummary>> products;
+    private ApiResponse<CursorPage<OrderSummary>> orders;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+        List<ProductSummary> productRows = new ArrayList<>(size);
+        List<OrderSummary> orderRows = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (long i = 0; i < size; i++) {
+            productRows.add(new ProductSummary(i, "Product " + i, BigDecimal.valueOf(1999 + i, 2), 10,
+                    "SKU-" + i, "/uploads/" + i + ".jpg", 4.5, true, 1L, 2L));
+            orderRows.add(new OrderSummary(i, "UL-" + i, now.minusMinutes(i), OrderStatus.PLACED,
+                    BigDecimal.valueOf(4999 + i, 2), null, 3L));
+        }
+        products = ApiResponse.success(productRows);
+        orders = ApiResponse.success(new CursorPage<>(orderRows, "bmV4dA", true, null));
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] orderCursorPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(orders);
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.ProjectAlApplication;
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import com.example.project_al.modules.user.domain.Buyer;
+import com.example.project_al.modules.user.infrastructure.UserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+// Boots the application against the in-memory H2 database from application-bench.properties
+final class BenchmarkContext {
+
+    private static final String[] WORDS = {
+            "wireless", "cable", "charger", "leather", "wallet", "coffee", "ceramic", "mug",
+            "running", "shoes", "organic", "tea", "steel", "bottle", "cotton", "shirt"
+    };
+
+    private BenchmarkContext() {
+    }
+
+    static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(ProjectAlApplication.class)
+                .profiles("bench")
+                .run(args);
+    }
+
+    static List<Long> seedProducts(ConfigurableApplicationContext context, int count, int quantity) {
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName(WORDS[i % WORDS.length] + " " + WORDS[(i / WORDS.length) % WORDS.length] + " " + i);
+            product.setDescription("Benchmark product " + i + " made of " + WORDS[(i * 7) % WORDS.length]);
+            product.setSku("BENCH-" + i);
+            product.setPrice(BigDecimal.valueOf(100 + i % 5_000, 2));
+            product.setQuantity(quantity);
+            products.add(product);
+        }
+        return productRepository.saveAll(products).stream().map(Product::getId).toList();
+    }
+
+    static Buyer seedBuyer(ConfigurableApplicationContext context) {
+        Buyer buyer = new Buyer();
+        buyer.setNom("Benchmark buyer");
+        buyer.setEmail("buyer@benchmark.local");
+        buyer.setPassword("benchmark");
+        return context.getBean(UserRepository.class).save(buyer);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.user.infrastructure.security.JwtService;
+import com.example.project_al.modules.user.infrastructure.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService("benchmark-signing-secret-with-at-least-256-bits-of-key-material", 3_600_000L);
+        verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000);
+        userDetails = new User("buyer@benchmark.local", "benchmark", List.of(new SimpleGrantedAuthority("ROLE_BUYER")));
+        token = jwtService.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, userDetails);
+    }
+
+    // Steady-state path taken by JwtAuthenticationFilter for a token it has already seen
+    @Benchmark
+    public Optional<JwtService.VerifiedToken> cachedVerify() {
+        return verifiedTokenCache.get(token, jwtService::verify);
+    }
+}
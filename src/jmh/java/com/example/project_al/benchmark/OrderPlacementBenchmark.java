@@ -0,0 +1,60 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.order.application.OrderService;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+import com.example.project_al.modules.user.domain.Buyer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderPlacementBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+
+    @Param({"1", "10"})
+    private int itemsPerOrder;
+
+    private ConfigurableApplicationContext context;
+    private OrderService orderService;
+    private Buyer buyer;
+    private List<Long> productIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        orderService = context.getBean(OrderService.class);
+        buyer = BenchmarkContext.seedBuyer(context);
+        productIds = BenchmarkContext.seedProducts(context, PRODUCTS, Integer.MAX_VALUE / 2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Order createOrder() {
+        Order order = new Order();
+        order.setBuyer(buyer);
+        for (int i = 0; i < itemsPerOrder; i++) {
+            Product product = new Product();
+            product.setId(productIds.get(next++ % PRODUCTS));
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            order.getOrderItems().add(item);
+        }
+        return orderService.createOrder(order);
+    }
+}
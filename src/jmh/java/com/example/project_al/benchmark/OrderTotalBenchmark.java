@@ -0,0 +1,88 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Order totals in cents against the BigDecimal arithmetic they replaced. The bigDecimal* methods
+ * reproduce the previous Order and OrderItem code. Run with -prof gc and compare
+ * gc.alloc.rate.norm (bytes per operation) as well as time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderTotalBenchmark {
+
+    @Param({"1", "10", "100", "1000"})
+    private int items;
+
+    private Order order;
+    private OrderItem[] lines;
+    private BigDecimal[] unitPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        order = new Order();
+        lines = new OrderItem[items];
+        unitPrices = new BigDecimal[items];
+        quantities = new int[items];
+        for (int i = 0; i < items; i++) {
+            OrderItem item = new OrderItem();
+            item.setQuantity(1 + i % 3);
+            item.setUnitPrice(BigDecimal.valueOf(1999 + i, 2));
+            item.calculateSubtotal();
+            order.getOrderItems().add(item);
+            lines[i] = item;
+            unitPrices[i] = item.getUnitPrice();
+            quantities[i] = item.getQuantity();
+        }
+    }
+
+    // Order.order(): one pass over the item subtotals
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        order.order();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalCalculateTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            total = total.add(unitPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    // Building an order item by item keeps the total up to date with one addition per item
+    @Benchmark
+    public long addItems() {
+        Order built = new Order();
+        for (OrderItem line : lines) {
+            built.addOrderItem(line);
+        }
+        return built.totalMinor();
+    }
+
+    // The previous addOrderItem reduced every subtotal again after each add
+    @Benchmark
+    public BigDecimal bigDecimalAddItems() {
+        List<BigDecimal> subtotals = new ArrayList<>(items);
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < items; i++) {
+            subtotals.add(unitPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+            total = subtotals.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+        return total;
+    }
+}
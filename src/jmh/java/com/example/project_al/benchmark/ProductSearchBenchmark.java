@@ -0,0 +1,56 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.catalog.application.ProductService;
+import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import com.example.project_al.modules.catalog.infrastructure.ProductSearchIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.concurrent.TimeUnit;
+
+// Compares the LIKE query used as a fallback with the in-memory index that normally serves search
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductSearchBenchmark {
+
+    @Param({"10000"})
+    private int products;
+
+    @Param({"wireless", "coffee mug"})
+    private String keyword;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductService productService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        productRepository = context.getBean(ProductRepository.class);
+        productService = context.getBean(ProductService.class);
+        BenchmarkContext.seedProducts(context, products, 100);
+        context.getBean(ProductSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductSummary> repositorySearch() {
+        return productRepository.searchProducts(keyword, PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public Page<ProductSummary> indexedSearch() {
+        return productService.searchProducts(keyword, PageRequest.of(0, 20));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.project_al.benchmark;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.order.application.OrderService;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+import com.example.project_al.modules.user.domain.Buyer;
+import com.example.project_al.modules.user.infrastructure.security.JwtService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Platform vs virtual request threads over HTTP, with more concurrent clients than Tomcat's default 200 workers.
+// Throughput mode gives requests/ms; SampleTime mode reports the p99 latency per endpoint and mode.
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Threads(400)
+@Fork(1)
+public class ThreadingModeBenchmark {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int ORDERS = 50;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String token;
+    private Buyer buyer;
+    private List<Long> productIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--spring.threads.virtual.enabled=" + virtualThreads);
+        buyer = BenchmarkContext.seedBuyer(context);
+        productIds = BenchmarkContext.seedProducts(context, PRODUCTS, Integer.MAX_VALUE / 2);
+        OrderService orderService = context.getBean(OrderService.class);
+        for (int i = 0; i < ORDERS; i++) {
+            Product product = new Product();
+            product.setId(productIds.get(i));
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(1);
+            Order order = new Order();
+            order.setBuyer(buyer);
+            order.getOrderItems().add(item);
+            orderService.createOrder(order);
+        }
+
+        token = context.getBean(JwtService.class).generateToken(new User(buyer.getEmail(), "benchmark",
+                List.of(new SimpleGrantedAuthority("ROLE_BUYER"))));
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int getProduct() throws IOException, InterruptedException {
+        Long id = productIds.get(ThreadLocalRandom.current().nextInt(PRODUCTS));
+        return get("/api/products/" + id);
+    }
+
+    @Benchmark
+    public int getBuyerOrders() throws IOException, InterruptedException {
+        return get("/api/orders/buyer/" + buyer.getId() + "/cursor?size=20");
+    }
+
+    private int get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("GET " + path + " returned " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,6 @@
+package com.example.project_al.modules.cart;
+
+public interface CartModule {
+    // Just an interface to mark the module
+    // Spring Modulith will detect it automatically
+}
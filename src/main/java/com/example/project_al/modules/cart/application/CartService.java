@@ -0,0 +1,240 @@
+package com.example.project_al.modules.cart.application;
+
+import com.example.project_al.modules.cart.domain.Cart;
+import com.example.project_al.modules.cart.domain.CartLine;
+import com.example.project_al.modules.cart.infrastructure.CartSnapshotWriter;
+import com.example.project_al.modules.catalog.application.InventoryService;
+import com.example.project_al.modules.catalog.application.ProductService;
+import com.example.project_al.modules.catalog.application.ProductView;
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.order.application.CheckoutPipeline;
+import com.example.project_al.modules.order.application.CheckoutTicket;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+import com.example.project_al.modules.user.application.UserService;
+import com.example.project_al.modules.user.domain.Buyer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps carts in memory per buyer. Edits never touch products or orders: prices are only read from
+ * the product cache, and stock and prices are checked again when the cart is checked out. Carts are
+ * saved to cart_snapshots in batches and evicted once idle, to be reloaded from their snapshot.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CartService {
+
+    private final CartSnapshotWriter cartSnapshotWriter;
+    private final ProductService productService;
+    private final InventoryService inventoryService;
+    private final UserService userService;
+    private final CheckoutPipeline checkoutPipeline;
+
+    private final ConcurrentMap<Long, Cart> carts = new ConcurrentHashMap<>();
+
+    @Value("${cart.idle-ttl:PT30M}")
+    private Duration idleTtl;
+
+    @Value("${cart.retention:P30D}")
+    private Duration retention;
+
+    @Value("${cart.max-lines:100}")
+    private int maxLines;
+
+    public CartView getCart(Long buyerId) {
+        return cart(buyerId).read(CartView::of);
+    }
+
+    public CartView setQuantity(Long buyerId, Long productId, int quantity) {
+        if (quantity < 0) {
+            throw new RuntimeException("Quantity must not be negative");
+        }
+        if (quantity == 0) {
+            return removeItem(buyerId, productId);
+        }
+        ProductView product = productService.findViewById(productId)
+                .filter(view -> !Boolean.FALSE.equals(view.isActive()))
+                .orElseThrow(() -> new RuntimeException("Product not available: " + productId));
+        return edit(buyerId, cart -> {
+            if (!cart.contains(productId) && cart.size() >= maxLines) {
+                throw new RuntimeException("Cart cannot hold more than " + maxLines + " products");
+            }
+            cart.setLine(productId, quantity, product.price());
+        });
+    }
+
+    public CartView removeItem(Long buyerId, Long productId) {
+        return edit(buyerId, cart -> cart.removeLine(productId));
+    }
+
+    public CartView clear(Long buyerId) {
+        return edit(buyerId, Cart::clear);
+    }
+
+    /**
+     * Checks every line against the current catalog before queueing the order. If a price moved,
+     * the cart is updated to it and the checkout is refused so the buyer sees the new total first.
+     * A second checkout of the same cart is refused while the first one is queued.
+     * Empty when the checkout queue is full.
+     */
+    public Optional<CheckoutTicket> checkout(Long buyerId, CheckoutDetails details) {
+        Buyer buyer = userService.findById(buyerId)
+                .filter(Buyer.class::isInstance)
+                .map(Buyer.class::cast)
+                .orElseThrow(() -> new RuntimeException("Buyer not found"));
+        Cart cart = beginCheckout(buyerId);
+        Optional<CompletableFuture<CheckoutTicket>> result = Optional.empty();
+        try {
+            List<CartLine> lines = cart.read(Cart::getLines);
+            Optional<CheckoutTicket> ticket = submit(cart, buyer, lines, details);
+            result = ticket.flatMap(queued -> checkoutPipeline.awaitTicket(queued.id()));
+            result.ifPresent(outcome -> outcome.whenComplete((placed, error) -> {
+                try {
+                    if (placed != null && placed.status() == CheckoutTicket.Status.PLACED) {
+                        cart.edit(current -> current.removeOrdered(lines));
+                    }
+                } finally {
+                    cart.endCheckout();
+                }
+            }));
+            return ticket;
+        } finally {
+            if (result.isEmpty()) {
+                cart.endCheckout();
+            }
+        }
+    }
+
+    private Optional<CheckoutTicket> submit(Cart cart, Buyer buyer, List<CartLine> lines, CheckoutDetails details) {
+        if (lines.isEmpty()) {
+            throw new RuntimeException("Cart is empty");
+        }
+        List<CartLine> repriced = new ArrayList<>();
+        for (CartLine line : lines) {
+            ProductView product = productService.findViewById(line.productId())
+                    .filter(view -> !Boolean.FALSE.equals(view.isActive()))
+                    .orElseThrow(() -> new RuntimeException("Product not available: " + line.productId()));
+            if (inventoryService.available(line.productId()) < line.quantity()) {
+                throw new RuntimeException("Insufficient stock for product: " + line.productId());
+            }
+            if (product.price().compareTo(line.unitPrice()) != 0) {
+                repriced.add(new CartLine(line.productId(), line.quantity(), product.price()));
+            }
+        }
+        if (!repriced.isEmpty()) {
+            cart.edit(current -> repriced.forEach(line -> current.reprice(line.productId(), line.unitPrice())));
+            throw new RuntimeException("Prices changed for products " + repriced.stream().map(CartLine::productId).toList()
+                    + ", review the cart before checking out");
+        }
+        return checkoutPipeline.submit(toOrder(buyer, lines, details));
+    }
+
+    private static Order toOrder(Buyer buyer, List<CartLine> lines, CheckoutDetails details) {
+        Order order = new Order();
+        order.setBuyer(buyer);
+        if (details != null) {
+            order.setShippingAddress(details.shippingAddress());
+            order.setBillingAddress(details.billingAddress());
+            order.setPaymentMethod(details.paymentMethod());
+        }
+        for (CartLine line : lines) {
+            // Only the id is needed: checkout loads the product and takes its current price
+            Product product = new Product();
+            product.setId(line.productId());
+            OrderItem item = new OrderItem();
+            item.setProduct(product);
+            item.setQuantity(line.quantity());
+            item.setUnitPrice(line.unitPrice());
+            order.addOrderItem(item);
+        }
+        return order;
+    }
+
+    @Scheduled(fixedDelayString = "${cart.snapshot-interval-ms:30000}")
+    public void snapshot() {
+        List<Cart.Snapshot> snapshots = carts.values().stream()
+                .map(Cart::snapshotIfDirty)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!snapshots.isEmpty()) {
+            try {
+                cartSnapshotWriter.save(snapshots);
+                snapshots.forEach(saved -> {
+                    Cart cart = carts.get(saved.buyerId());
+                    if (cart != null) {
+                        cart.markSaved(saved.revision());
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.error("Saving {} cart snapshots failed, retrying on next run", snapshots.size(), e);
+                return;
+            }
+        }
+        long idleNanos = idleTtl.toNanos();
+        carts.values().removeIf(cart -> cart.evictIfIdle(idleNanos));
+    }
+
+    @Scheduled(fixedDelayString = "${cart.retention-sweep-interval-ms:3600000}")
+    public void purgeAbandoned() {
+        int purged = cartSnapshotWriter.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (purged > 0) {
+            log.info("Purged {} abandoned cart snapshots", purged);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        snapshot();
+    }
+
+    // A cart with a checkout running is never evicted, so the claimed instance stays the live one
+    private Cart beginCheckout(Long buyerId) {
+        while (true) {
+            Cart cart = cart(buyerId);
+            if (cart.beginCheckout()) {
+                return cart;
+            }
+            carts.remove(buyerId, cart);
+        }
+    }
+
+    private CartView edit(Long buyerId, Consumer<Cart> editor) {
+        while (true) {
+            Cart cart = cart(buyerId);
+            if (cart.edit(editor)) {
+                return cart.read(CartView::of);
+            }
+            carts.remove(buyerId, cart);
+        }
+    }
+
+    // Loaded outside computeIfAbsent so the snapshot query does not run while holding the map bin
+    private Cart cart(Long buyerId) {
+        Cart cart = carts.get(buyerId);
+        if (cart != null) {
+            return cart;
+        }
+        Cart loaded = cartSnapshotWriter.find(buyerId)
+                .map(content -> Cart.decode(buyerId, content))
+                .orElseGet(() -> new Cart(buyerId));
+        Cart raced = carts.putIfAbsent(buyerId, loaded);
+        return raced != null ? raced : loaded;
+    }
+}
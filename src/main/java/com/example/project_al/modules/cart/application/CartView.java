@@ -0,0 +1,14 @@
+package com.example.project_al.modules.cart.application;
+
+import com.example.project_al.modules.cart.domain.Cart;
+import com.example.project_al.modules.cart.domain.CartLine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record CartView(Long buyerId, List<CartLine> lines, BigDecimal total) {
+
+    static CartView of(Cart cart) {
+        return new CartView(cart.getBuyerId(), cart.getLines(), cart.total());
+    }
+}
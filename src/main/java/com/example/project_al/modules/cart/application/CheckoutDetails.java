@@ -0,0 +1,4 @@
+package com.example.project_al.modules.cart.application;
+
+public record CheckoutDetails(String shippingAddress, String billingAddress, String paymentMethod) {
+}
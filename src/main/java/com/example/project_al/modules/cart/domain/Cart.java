@@ -0,0 +1,211 @@
+package com.example.project_al.modules.cart.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A buyer's cart while it lives in memory. Every edit bumps a revision; the snapshot task saves
+ * carts whose revision moved past the last saved one, and only clean carts may be evicted.
+ * At most one checkout runs per cart; it is claimed before the order is queued and released once
+ * the order has been placed or refused.
+ */
+public class Cart {
+
+    private static final String LINE_SEPARATOR = ";";
+    private static final String FIELD_SEPARATOR = ":";
+
+    private final Long buyerId;
+    private final Map<Long, CartLine> lines = new LinkedHashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long revision;
+    private long savedRevision;
+    private long lastAccess = System.nanoTime();
+    private boolean evicted;
+    private boolean checkingOut;
+
+    public record Snapshot(Long buyerId, String content, long revision) {
+
+        public boolean isEmpty() {
+            return content.isEmpty();
+        }
+    }
+
+    public Cart(Long buyerId) {
+        this.buyerId = buyerId;
+    }
+
+    public Long getBuyerId() {
+        return buyerId;
+    }
+
+    public <T> T read(Function<Cart, T> reader) {
+        lock.lock();
+        try {
+            lastAccess = System.nanoTime();
+            return reader.apply(this);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns false when the cart was evicted meanwhile; the caller reloads it and tries again
+    public boolean edit(Consumer<Cart> editor) {
+        lock.lock();
+        try {
+            if (evicted) {
+                return false;
+            }
+            lastAccess = System.nanoTime();
+            editor.accept(this);
+            revision++;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns false when the cart was evicted meanwhile; the caller reloads it and tries again
+    public boolean beginCheckout() {
+        lock.lock();
+        try {
+            if (evicted) {
+                return false;
+            }
+            if (checkingOut) {
+                throw new RuntimeException("Checkout already in progress");
+            }
+            lastAccess = System.nanoTime();
+            checkingOut = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void endCheckout() {
+        lock.lock();
+        try {
+            checkingOut = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void setLine(Long productId, int quantity, BigDecimal unitPrice) {
+        if (quantity <= 0) {
+            lines.remove(productId);
+        } else {
+            lines.put(productId, new CartLine(productId, quantity, unitPrice));
+        }
+    }
+
+    // Keeps the quantity and only moves the price, if the product is still in the cart
+    public void reprice(Long productId, BigDecimal unitPrice) {
+        lines.computeIfPresent(productId, (id, line) -> new CartLine(id, line.quantity(), unitPrice));
+    }
+
+    public boolean contains(Long productId) {
+        return lines.containsKey(productId);
+    }
+
+    public int size() {
+        return lines.size();
+    }
+
+    public void removeLine(Long productId) {
+        lines.remove(productId);
+    }
+
+    // Takes away what an order placed from this cart bought, keeping anything added since
+    public void removeOrdered(List<CartLine> ordered) {
+        for (CartLine line : ordered) {
+            CartLine current = lines.get(line.productId());
+            if (current != null) {
+                setLine(line.productId(), current.quantity() - line.quantity(), current.unitPrice());
+            }
+        }
+    }
+
+    public void clear() {
+        lines.clear();
+    }
+
+    public List<CartLine> getLines() {
+        return new ArrayList<>(lines.values());
+    }
+
+    public BigDecimal total() {
+        return lines.values().stream()
+                .map(CartLine::subtotal)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    public Snapshot snapshotIfDirty() {
+        lock.lock();
+        try {
+            return revision == savedRevision ? null : new Snapshot(buyerId, encode(), revision);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void markSaved(long savedRevision) {
+        lock.lock();
+        try {
+            this.savedRevision = Math.max(this.savedRevision, savedRevision);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Only a cart with nothing left to save and no checkout running is evicted, so the snapshot
+    // always holds its last state and a reloaded copy cannot start a second checkout
+    public boolean evictIfIdle(long idleNanos) {
+        lock.lock();
+        try {
+            if (checkingOut || revision != savedRevision || System.nanoTime() - lastAccess < idleNanos) {
+                return false;
+            }
+            evicted = true;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // productId:quantity:unitPrice per line, lines separated by ';'
+    String encode() {
+        StringBuilder content = new StringBuilder(lines.size() * 24);
+        for (CartLine line : lines.values()) {
+            if (!content.isEmpty()) {
+                content.append(LINE_SEPARATOR);
+            }
+            content.append(line.productId()).append(FIELD_SEPARATOR)
+                    .append(line.quantity()).append(FIELD_SEPARATOR)
+                    .append(line.unitPrice().toPlainString());
+        }
+        return content.toString();
+    }
+
+    public static Cart decode(Long buyerId, String content) {
+        Cart cart = new Cart(buyerId);
+        if (content == null || content.isEmpty()) {
+            return cart;
+        }
+        for (String line : content.split(LINE_SEPARATOR)) {
+            String[] fields = line.split(FIELD_SEPARATOR);
+            if (fields.length != 3) {
+                throw new RuntimeException("Malformed cart snapshot for buyer: " + buyerId);
+            }
+            Long productId = Long.valueOf(fields[0]);
+            cart.lines.put(productId, new CartLine(productId, Integer.parseInt(fields[1]), new BigDecimal(fields[2])));
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.project_al.modules.cart.domain;
+
+import java.math.BigDecimal;
+
+// The price is the one shown when the line was added; checkout compares it with the current price
+public record CartLine(Long productId, int quantity, BigDecimal unitPrice) {
+
+    public BigDecimal subtotal() {
+        return unitPrice.multiply(BigDecimal.valueOf(quantity));
+    }
+}
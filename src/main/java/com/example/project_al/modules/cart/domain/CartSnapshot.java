@@ -0,0 +1,28 @@
+package com.example.project_al.modules.cart.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// Last saved content of a buyer's cart, encoded by Cart#encode; written by CartSnapshotWriter only
+@Entity
+@Table(name = "cart_snapshots", indexes = {
+        @Index(name = "idx_cart_snapshots_updated_at", columnList = "updated_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartSnapshot {
+
+    @Id
+    @Column(name = "buyer_id")
+    private Long buyerId;
+
+    @Column(name = "content", columnDefinition = "TEXT", nullable = false)
+    private String content;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,70 @@
+package com.example.project_al.modules.cart.infrastructure;
+
+import com.example.project_al.modules.cart.application.CartService;
+import com.example.project_al.modules.cart.application.CartView;
+import com.example.project_al.modules.cart.application.CheckoutDetails;
+import com.example.project_al.modules.order.application.CheckoutTicket;
+import com.example.project_al.shared.kernel.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/carts/{buyerId}")
+@RequiredArgsConstructor
+@Tag(name = "Cart", description = "APIs for managing a buyer's cart")
+public class CartController {
+
+    private final CartService cartService;
+
+    @Value("${checkout.retry-after:PT1S}")
+    private Duration retryAfter;
+
+    @GetMapping
+    @Operation(summary = "Get the buyer's cart")
+    public ResponseEntity<ApiResponse<CartView>> getCart(@PathVariable Long buyerId) {
+        return ResponseEntity.ok(ApiResponse.success(cartService.getCart(buyerId)));
+    }
+
+    @PutMapping("/items/{productId}")
+    @Operation(summary = "Set the quantity of a product in the cart (0 removes it)")
+    public ResponseEntity<ApiResponse<CartView>> setQuantity(
+            @PathVariable Long buyerId,
+            @PathVariable Long productId,
+            @RequestParam int quantity) {
+        return ResponseEntity.ok(ApiResponse.success(cartService.setQuantity(buyerId, productId, quantity)));
+    }
+
+    @DeleteMapping("/items/{productId}")
+    @Operation(summary = "Remove a product from the cart")
+    public ResponseEntity<ApiResponse<CartView>> removeItem(@PathVariable Long buyerId, @PathVariable Long productId) {
+        return ResponseEntity.ok(ApiResponse.success(cartService.removeItem(buyerId, productId)));
+    }
+
+    @DeleteMapping
+    @Operation(summary = "Empty the cart")
+    public ResponseEntity<ApiResponse<CartView>> clear(@PathVariable Long buyerId) {
+        return ResponseEntity.ok(ApiResponse.success(cartService.clear(buyerId), "Cart cleared"));
+    }
+
+    @PostMapping("/checkout")
+    @Operation(summary = "Check the cart against current prices and stock, then queue it as an order")
+    public ResponseEntity<ApiResponse<CheckoutTicket>> checkout(
+            @PathVariable Long buyerId,
+            @RequestBody(required = false) CheckoutDetails details) {
+        return cartService.checkout(buyerId, details)
+                .map(ticket -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/orders/checkout/" + ticket.id())
+                        .body(ApiResponse.success(ticket, "Checkout queued")))
+                .orElse(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                        .body(ApiResponse.error("Checkout is busy, retry later")));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.project_al.modules.cart.infrastructure;
+
+import com.example.project_al.modules.cart.domain.Cart;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@RequiredArgsConstructor
+public class CartSnapshotWriter {
+
+    private static final String UPSERT =
+            "INSERT INTO cart_snapshots (buyer_id, content, updated_at) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE content = VALUES(content), updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public Optional<String> find(Long buyerId) {
+        return jdbcTemplate.query("SELECT content FROM cart_snapshots WHERE buyer_id = ?",
+                (rs, rowNum) -> rs.getString("content"), buyerId).stream().findFirst();
+    }
+
+    // Empty carts are deleted rather than stored
+    @Transactional
+    public void save(List<Cart.Snapshot> snapshots) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> upserts = new ArrayList<>();
+        List<Object[]> deletes = new ArrayList<>();
+        for (Cart.Snapshot snapshot : snapshots) {
+            if (snapshot.isEmpty()) {
+                deletes.add(new Object[]{snapshot.buyerId()});
+            } else {
+                upserts.add(new Object[]{snapshot.buyerId(), snapshot.content(), now});
+            }
+        }
+        if (!upserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, upserts);
+        }
+        if (!deletes.isEmpty()) {
+            jdbcTemplate.batchUpdate("DELETE FROM cart_snapshots WHERE buyer_id = ?", deletes);
+        }
+    }
+
+    @Transactional
+    public int deleteOlderThan(LocalDateTime cutoff) {
+        return jdbcTemplate.update("DELETE FROM cart_snapshots WHERE updated_at < ?", Timestamp.valueOf(cutoff));
+    }
+}
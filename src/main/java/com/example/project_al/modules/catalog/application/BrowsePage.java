@@ -0,0 +1,15 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.infrastructure.CatalogBrowseIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+
+import java.util.List;
+
+public record BrowsePage(
+        List<ProductSummary> content,
+        long totalElements,
+        int page,
+        int size,
+        CatalogBrowseIndex.Facets facets
+) {
+}
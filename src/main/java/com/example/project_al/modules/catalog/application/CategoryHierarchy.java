@@ -0,0 +1,110 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.infrastructure.CategoryClosureRepository;
+import com.example.project_al.modules.catalog.infrastructure.CategoryRepository;
+import com.example.project_al.modules.catalog.infrastructure.CategoryRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * Immutable in-memory snapshot of the active category tree, swapped atomically on every refresh.
+ * Also seeds the closure table for every category, active or not, that has no paths yet.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CategoryHierarchy {
+
+    private static final Comparator<CategoryRow> BY_NAME =
+            Comparator.comparing(CategoryRow::name, String.CASE_INSENSITIVE_ORDER);
+
+    private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+
+    private volatile Snapshot snapshot = new Snapshot(List.of(), Map.of());
+
+    public record CategoryNode(Long id, String name, String imageUrl, Long parentId, List<CategoryNode> children) {
+    }
+
+    private record Snapshot(List<CategoryNode> roots, Map<Long, CategoryNode> byId) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        backfillClosure();
+        refresh();
+    }
+
+    public void refresh() {
+        Map<Long, List<CategoryRow>> childrenByParent = new HashMap<>();
+        List<CategoryRow> rootRows = new ArrayList<>();
+        for (CategoryRow row : categoryRepository.findActiveRows()) {
+            if (row.parentId() == null) {
+                rootRows.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        Map<Long, CategoryNode> byId = new HashMap<>();
+        List<CategoryNode> roots = rootRows.stream()
+                .sorted(BY_NAME)
+                .map(row -> build(row, childrenByParent, byId))
+                .toList();
+        snapshot = new Snapshot(roots, Map.copyOf(byId));
+    }
+
+    public List<CategoryNode> menu() {
+        return snapshot.roots();
+    }
+
+    public Optional<CategoryNode> find(Long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    private CategoryNode build(CategoryRow row, Map<Long, List<CategoryRow>> childrenByParent,
+                               Map<Long, CategoryNode> byId) {
+        List<CategoryNode> children = childrenByParent.getOrDefault(row.id(), List.of()).stream()
+                .sorted(BY_NAME)
+                .map(child -> build(child, childrenByParent, byId))
+                .toList();
+        CategoryNode node = new CategoryNode(row.id(), row.name(), row.imageUrl(), row.parentId(), children);
+        byId.put(node.id(), node);
+        return node;
+    }
+
+    // Parents are visited before their children so each insert can copy its parent's paths. Inactive
+    // categories are included, so reactivating one needs no closure change.
+    private void backfillClosure() {
+        Set<Long> closed = new HashSet<>(categoryClosureRepository.findClosedIds());
+        Map<Long, List<CategoryRow>> childrenByParent = new HashMap<>();
+        Deque<CategoryRow> pending = new ArrayDeque<>();
+        for (CategoryRow row : categoryRepository.findAllRows()) {
+            if (row.parentId() == null) {
+                pending.add(row);
+            } else {
+                childrenByParent.computeIfAbsent(row.parentId(), id -> new ArrayList<>()).add(row);
+            }
+        }
+
+        int inserted = 0;
+        while (!pending.isEmpty()) {
+            CategoryRow row = pending.poll();
+            if (closed.add(row.id())) {
+                categoryClosureRepository.insertPaths(row.id(), row.parentId());
+                inserted++;
+            }
+            pending.addAll(childrenByParent.getOrDefault(row.id(), List.of()));
+        }
+        if (inserted > 0) {
+            log.info("Seeded category closure table for {} categories", inserted);
+        }
+    }
+}
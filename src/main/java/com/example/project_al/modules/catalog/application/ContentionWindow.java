@@ -0,0 +1,54 @@
+package com.example.project_al.modules.catalog.application;
+
+// Stock updates and optimistic-lock conflicts for one product over the current and previous fixed window
+public class ContentionWindow {
+
+    private final long windowNanos;
+    private long windowStart;
+    private long attempts;
+    private long conflicts;
+    private long previousAttempts;
+
+    public ContentionWindow(long windowNanos, long now) {
+        this.windowNanos = windowNanos;
+        this.windowStart = now;
+    }
+
+    public synchronized void record(boolean conflicted, long now) {
+        roll(now);
+        attempts++;
+        if (conflicted) {
+            conflicts++;
+        }
+    }
+
+    public synchronized boolean isHot(int minConflicts, double minConflictRatio, long now) {
+        roll(now);
+        return conflicts >= minConflicts && conflicts >= minConflictRatio * attempts;
+    }
+
+    // Quiet for a whole window, not just since the current one started
+    public synchronized boolean isCold(int maxUpdates, long now) {
+        roll(now);
+        return previousAttempts < maxUpdates && attempts < maxUpdates;
+    }
+
+    public synchronized long attempts() {
+        return attempts;
+    }
+
+    public synchronized long conflicts() {
+        return conflicts;
+    }
+
+    private void roll(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed < windowNanos) {
+            return;
+        }
+        previousAttempts = elapsed < 2 * windowNanos ? attempts : 0;
+        attempts = 0;
+        conflicts = 0;
+        windowStart = now - elapsed % windowNanos;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.project_al.modules.catalog.application;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+public record ImportProgress(
+        UUID id,
+        Long storeId,
+        Status status,
+        long rowsRead,
+        long created,
+        long updated,
+        long failed,
+        List<RowError> errors,
+        Instant startedAt,
+        Instant finishedAt
+) {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    public record RowError(long line, String sku, String message) {
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.domain.StockReservation;
+import com.example.project_al.modules.catalog.infrastructure.CatalogBrowseIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds available stock per product in memory so checkouts reserve with a CAS instead of
+ * locking the product row. Committed reservations are written back to products.quantity
+ * in batches by {@link #flush()}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class InventoryService {
+
+    private final ProductRepository productRepository;
+    private final StockStriping stockStriping;
+    private final ProductCache productCache;
+    private final CatalogBrowseIndex catalogBrowseIndex;
+
+    private final ConcurrentMap<Long, AtomicInteger> available = new ConcurrentHashMap<>();
+    private final ConcurrentMap<UUID, StockReservation> reservations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicInteger> pendingDeltas = new ConcurrentHashMap<>();
+
+    @Value("${inventory.reservation.ttl:PT10M}")
+    private Duration reservationTtl;
+
+    public StockReservation reserve(Long productId, int quantity) {
+        return reserve(productId, quantity, reservationTtl);
+    }
+
+    public StockReservation reserve(Long productId, int quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new RuntimeException("Quantity must be positive");
+        }
+        stockStriping.recordReservation(productId, take(productId, quantity));
+        StockReservation reservation = new StockReservation(UUID.randomUUID(), productId, quantity, Instant.now().plus(ttl));
+        reservations.put(reservation.id(), reservation);
+        return reservation;
+    }
+
+    // Runs after commit, so it must not fail: an expired reservation is taken back even when that
+    // drives the counter negative, and products.quantity always receives the decrement
+    public void confirm(StockReservation reservation) {
+        if (reservations.remove(reservation.id()) == null) {
+            int remaining = counter(reservation.productId()).addAndGet(-reservation.quantity());
+            if (remaining < 0) {
+                log.error("Oversold product {} by {} confirming expired reservation {}",
+                        reservation.productId(), -remaining, reservation.id());
+            } else {
+                log.warn("Confirmed expired reservation {} for product {}", reservation.id(), reservation.productId());
+            }
+        }
+        pendingDelta(reservation.productId()).addAndGet(-reservation.quantity());
+    }
+
+    public void release(StockReservation reservation) {
+        if (reservations.remove(reservation.id()) != null) {
+            counter(reservation.productId()).addAndGet(reservation.quantity());
+        }
+    }
+
+    // Confirms the reservations if the surrounding transaction commits and releases them otherwise.
+    // Reservations that expired meanwhile are taken again before commit, so a sold-out product
+    // rolls the transaction back instead of overselling.
+    public void confirmOnCommit(List<StockReservation> held) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            held.forEach(this::confirm);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                held.forEach(InventoryService.this::renew);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    held.forEach(InventoryService.this::confirm);
+                } else {
+                    held.forEach(InventoryService.this::release);
+                }
+            }
+        });
+    }
+
+    public void restock(Long productId, int quantity) {
+        counter(productId).addAndGet(quantity);
+        pendingDelta(productId).addAndGet(quantity);
+    }
+
+    // Applies a change that has already been written to products.quantity by another path
+    public void adjust(Long productId, int delta) {
+        available.computeIfPresent(productId, (id, counter) -> {
+            counter.addAndGet(delta);
+            return counter;
+        });
+    }
+
+    public int available(Long productId) {
+        return counter(productId).get();
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval-ms:1000}")
+    public void expireReservations() {
+        Instant now = Instant.now();
+        reservations.values().stream()
+                .filter(reservation -> reservation.isExpired(now))
+                .forEach(reservation -> {
+                    if (reservations.remove(reservation.id(), reservation)) {
+                        counter(reservation.productId()).addAndGet(reservation.quantity());
+                    }
+                });
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.write-behind.interval-ms:200}")
+    public void flush() {
+        Map<Long, Integer> batch = new HashMap<>();
+        pendingDeltas.forEach((productId, delta) -> {
+            int value = delta.getAndSet(0);
+            if (value != 0) {
+                batch.put(productId, value);
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            stockStriping.applyDeltas(batch).forEach(productCache::invalidate);
+            batch.keySet().forEach(productId -> {
+                AtomicInteger counter = available.get(productId);
+                if (counter != null) {
+                    catalogBrowseIndex.updateStock(productId, counter.get() > 0);
+                }
+            });
+        } catch (RuntimeException e) {
+            log.error("Stock write-behind failed for {} products, retrying on next flush", batch.size(), e);
+            batch.forEach((productId, delta) -> pendingDelta(productId).addAndGet(delta));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    // Loaded outside computeIfAbsent: a query inside it would block while holding the map bin's monitor,
+    // which also pins a virtual thread to its carrier
+    private AtomicInteger counter(Long productId) {
+        AtomicInteger counter = available.get(productId);
+        if (counter != null) {
+            return counter;
+        }
+        AtomicInteger loaded = load(productId);
+        AtomicInteger raced = available.putIfAbsent(productId, loaded);
+        return raced != null ? raced : loaded;
+    }
+
+    // Pushes the expiry out so the sweeper cannot release the stock between commit and confirm
+    private void renew(StockReservation reservation) {
+        Instant expiresAt = Instant.now().plus(reservationTtl);
+        if (reservations.computeIfPresent(reservation.id(), (id, held) -> new StockReservation(
+                id, held.productId(), held.quantity(), expiresAt)) != null) {
+            return;
+        }
+        log.warn("Reservation {} for product {} expired before commit", reservation.id(), reservation.productId());
+        take(reservation.productId(), reservation.quantity());
+        reservations.put(reservation.id(), new StockReservation(reservation.id(), reservation.productId(),
+                reservation.quantity(), expiresAt));
+    }
+
+    // Returns whether another checkout got in between, which is what the striping detector watches
+    private boolean take(Long productId, int quantity) {
+        AtomicInteger counter = counter(productId);
+        boolean contended = false;
+        while (true) {
+            int current = counter.get();
+            if (current < quantity) {
+                throw new RuntimeException("Insufficient stock for product: " + productId);
+            }
+            if (counter.compareAndSet(current, current - quantity)) {
+                return contended;
+            }
+            contended = true;
+        }
+    }
+
+    private AtomicInteger pendingDelta(Long productId) {
+        return pendingDeltas.computeIfAbsent(productId, id -> new AtomicInteger());
+    }
+
+    // Stock already promised to open reservations or not yet written back is not available
+    private AtomicInteger load(Long productId) {
+        int quantity = stockStriping.isStriped(productId)
+                ? stockStriping.quantity(productId)
+                : productRepository.findQuantityById(productId)
+                        .orElseThrow(() -> new RuntimeException("Product not found"));
+        AtomicInteger pending = pendingDeltas.get(productId);
+        int reserved = reservations.values().stream()
+                .filter(reservation -> reservation.productId().equals(productId))
+                .mapToInt(StockReservation::quantity)
+                .sum();
+        return new AtomicInteger(quantity + (pending != null ? pending.get() : 0) - reserved);
+    }
+}
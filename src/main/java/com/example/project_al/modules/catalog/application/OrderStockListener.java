@@ -0,0 +1,18 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.order.domain.OrderCancelled;
+import lombok.RequiredArgsConstructor;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderStockListener {
+
+    private final InventoryService inventoryService;
+
+    @ApplicationModuleListener
+    public void on(OrderCancelled event) {
+        event.lines().forEach(line -> inventoryService.restock(line.productId(), line.quantity()));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link ProductView}s keyed by id, with a secondary SKU lookup.
+ * Invalidations record the committed version so a reader that loaded the row before the write
+ * cannot put the stale view back afterwards.
+ */
+@Component
+public class ProductCache {
+
+    private final Cache<Long, ProductView> byId;
+    private final Cache<String, Long> idsBySku;
+    private final Cache<Long, Integer> minimumVersions;
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${catalog.product-cache.maximum-size:100000}") long maximumSize,
+                        @Value("${catalog.product-cache.ttl:PT10M}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idsBySku = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.minimumVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "catalog.products");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsBySku, "catalog.products.sku");
+    }
+
+    public Optional<ProductView> get(Long id, Function<Long, Optional<ProductView>> loader) {
+        ProductView cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<ProductView> loaded = loader.apply(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public Optional<ProductView> getBySku(String sku, Function<String, Optional<ProductView>> loader) {
+        Long id = idsBySku.getIfPresent(sku);
+        if (id != null) {
+            ProductView cached = byId.getIfPresent(id);
+            if (cached != null && sku.equals(cached.sku())) {
+                return Optional.of(cached);
+            }
+        }
+        Optional<ProductView> loaded = loader.apply(sku);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public void invalidate(Long id, Integer committedVersion) {
+        if (committedVersion != null) {
+            minimumVersions.asMap().merge(id, committedVersion, Math::max);
+        }
+        ProductView removed = byId.asMap().remove(id);
+        if (removed != null && removed.sku() != null) {
+            idsBySku.invalidate(removed.sku());
+        }
+    }
+
+    private void put(ProductView view) {
+        if (view.isOlderThan(minimumVersions.getIfPresent(view.id()))) {
+            return;
+        }
+        byId.asMap().merge(view.id(), view,
+                (existing, loaded) -> loaded.isOlderThan(existing.version()) ? existing : loaded);
+        if (view.sku() != null) {
+            idsBySku.put(view.sku(), view.id());
+        }
+    }
+}
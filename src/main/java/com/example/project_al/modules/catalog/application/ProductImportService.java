@@ -0,0 +1,338 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.infrastructure.CatalogBrowseIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductImportRow;
+import com.example.project_al.modules.catalog.infrastructure.ProductImportWriter;
+import com.example.project_al.modules.catalog.infrastructure.ProductSearchDocument;
+import com.example.project_al.modules.catalog.infrastructure.ProductSearchIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+import com.example.project_al.shared.kernel.CsvReader;
+import com.example.project_al.shared.kernel.DataFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Imports a seller's catalog from CSV or NDJSON. The upload is spooled to disk and processed in
+ * the background in batches: rows are parsed and validated in parallel, SKUs repeated within the
+ * file are rejected, and each batch is upserted by SKU in one JDBC batch and one transaction.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    private final ProductImportWriter productImportWriter;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogBrowseIndex catalogBrowseIndex;
+    private final ProductCache productCache;
+    private final InventoryService inventoryService;
+    private final StockStriping stockStriping;
+    private final CategoryHierarchy categoryHierarchy;
+    private final ObjectMapper objectMapper;
+    private final TaskExecutor taskExecutor;
+    private final int batchSize;
+    private final int maxErrors;
+    private final Cache<UUID, ImportJob> jobs;
+
+    public ProductImportService(ProductImportWriter productImportWriter,
+                                ProductSearchIndex productSearchIndex,
+                                CatalogBrowseIndex catalogBrowseIndex,
+                                ProductCache productCache,
+                                InventoryService inventoryService,
+                                StockStriping stockStriping,
+                                CategoryHierarchy categoryHierarchy,
+                                ObjectMapper objectMapper,
+                                @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.max-errors:1000}") int maxErrors,
+                                @Value("${catalog.import.retention:PT1H}") Duration retention) {
+        this.productImportWriter = productImportWriter;
+        this.productSearchIndex = productSearchIndex;
+        this.catalogBrowseIndex = catalogBrowseIndex;
+        this.productCache = productCache;
+        this.inventoryService = inventoryService;
+        this.stockStriping = stockStriping;
+        this.categoryHierarchy = categoryHierarchy;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterAccess(retention)
+                .build();
+    }
+
+    private record Line(long number, String json, List<String> fields) {
+    }
+
+    private record Parsed(long line, ProductImportRow row, String error) {
+    }
+
+    public ImportProgress start(Long storeId, DataFormat format, InputStream body) throws IOException {
+        if (!productImportWriter.storeExists(storeId)) {
+            throw new RuntimeException("Store not found");
+        }
+        Path file = Files.createTempFile("product-import-", "." + format.extension());
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID(), storeId);
+        jobs.put(job.id, job);
+        taskExecutor.execute(() -> run(job, format, file));
+        return job.progress();
+    }
+
+    public Optional<ImportProgress> getProgress(UUID id) {
+        return Optional.ofNullable(jobs.getIfPresent(id)).map(ImportJob::progress);
+    }
+
+    private void run(ImportJob job, DataFormat format, Path file) {
+        long start = System.currentTimeMillis();
+        Set<String> seenSkus = new HashSet<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            CsvReader csv = format == DataFormat.CSV ? new CsvReader(reader) : null;
+            Map<String, Integer> header = csv != null ? header(csv.next()) : Map.of();
+            long lineNumber = 0;
+            List<Line> chunk = new ArrayList<>(batchSize);
+            while (true) {
+                Line line;
+                if (csv != null) {
+                    lineNumber = csv.line();
+                    List<String> fields = csv.next();
+                    line = fields != null ? new Line(lineNumber, null, fields) : null;
+                } else {
+                    String json = reader.readLine();
+                    line = json != null ? new Line(++lineNumber, json, null) : null;
+                }
+                if (line == null) {
+                    break;
+                }
+                if (line.json() != null ? line.json().isBlank() : isBlank(line.fields())) {
+                    continue;
+                }
+                chunk.add(line);
+                if (chunk.size() == batchSize) {
+                    importChunk(job, chunk, header, seenSkus);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            importChunk(job, chunk, header, seenSkus);
+            job.finish(ImportProgress.Status.COMPLETED);
+            log.info("Imported products for store {}: {} created, {} updated, {} failed in {} ms", job.storeId,
+                    job.created, job.updated, job.failed, System.currentTimeMillis() - start);
+        } catch (IOException | RuntimeException e) {
+            log.error("Product import {} failed", job.id, e);
+            job.abort("Import aborted: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+    }
+
+    private void importChunk(ImportJob job, List<Line> chunk, Map<String, Integer> header, Set<String> seenSkus) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Parsed> parsed = chunk.parallelStream()
+                .map(line -> parse(line, header))
+                .toList();
+        job.rowsRead.addAndGet(chunk.size());
+
+        List<ProductImportRow> rows = new ArrayList<>(parsed.size());
+        Map<String, Long> lines = new HashMap<>();
+        for (Parsed result : parsed) {
+            if (result.error() != null) {
+                job.error(result.line(), result.row() != null ? result.row().sku() : null, result.error());
+            } else if (!seenSkus.add(result.row().sku())) {
+                job.error(result.line(), result.row().sku(), "Duplicate SKU in import");
+            } else {
+                rows.add(result.row());
+                lines.put(result.row().sku(), result.line());
+            }
+        }
+
+        ProductImportWriter.BatchResult result = productImportWriter.upsert(job.storeId, rows);
+        for (ProductImportRow row : result.rejected()) {
+            job.error(lines.get(row.sku()), row.sku(), "SKU belongs to another store");
+        }
+        for (ProductImportWriter.ImportedProduct product : result.imported()) {
+            ProductImportRow row = product.row();
+            productSearchIndex.index(new ProductSearchDocument(product.id(), row.name(), row.description(), row.sku()));
+            catalogBrowseIndex.index(new ProductSummary(product.id(), row.name(), row.price(), row.quantity(), row.sku(),
+                    row.imageUrl(), null, true, row.categoryId(), job.storeId));
+            productCache.invalidate(product.id(), product.version());
+            if (product.created()) {
+                job.created.incrementAndGet();
+            } else {
+                inventoryService.adjust(product.id(),
+                        stockStriping.reset(product.id(), row.quantity(), product.quantityDelta()));
+                job.updated.incrementAndGet();
+            }
+        }
+    }
+
+    private Parsed parse(Line line, Map<String, Integer> header) {
+        ProductImportRow row;
+        try {
+            row = line.json() != null
+                    ? objectMapper.readValue(line.json(), ProductImportRow.class)
+                    : fromCsv(line.fields(), header);
+        } catch (IOException | RuntimeException e) {
+            return new Parsed(line.number(), null, "Malformed row: " + e.getMessage());
+        }
+        String error = validate(row);
+        return new Parsed(line.number(), row, error);
+    }
+
+    private String validate(ProductImportRow row) {
+        if (row.sku() == null || row.sku().isBlank()) {
+            return "SKU is required";
+        }
+        if (row.name() == null || row.name().isBlank()) {
+            return "Name is required";
+        }
+        if (row.price() == null || row.price().signum() < 0) {
+            return "Price must be zero or positive";
+        }
+        if (row.quantity() == null || row.quantity() < 0) {
+            return "Quantity must be zero or positive";
+        }
+        if (row.categoryId() != null && categoryHierarchy.find(row.categoryId()).isEmpty()) {
+            return "Category not found: " + row.categoryId();
+        }
+        return null;
+    }
+
+    private static Map<String, Integer> header(List<String> columns) {
+        if (columns == null) {
+            return Map.of();
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT).replace("_", ""), i);
+        }
+        return header;
+    }
+
+    private static ProductImportRow fromCsv(List<String> fields, Map<String, Integer> header) {
+        String price = field(fields, header, "price");
+        String quantity = field(fields, header, "quantity");
+        String categoryId = field(fields, header, "categoryid");
+        return new ProductImportRow(
+                field(fields, header, "sku"),
+                field(fields, header, "name"),
+                field(fields, header, "description"),
+                price != null ? new BigDecimal(price) : null,
+                quantity != null ? Integer.valueOf(quantity) : null,
+                field(fields, header, "imageurl"),
+                field(fields, header, "options"),
+                categoryId != null ? Long.valueOf(categoryId) : null);
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        return fields.stream().allMatch(String::isBlank);
+    }
+
+    private final class ImportJob {
+
+        private final UUID id;
+        private final Long storeId;
+        private final Instant startedAt = Instant.now();
+        private final AtomicLong rowsRead = new AtomicLong();
+        private final AtomicLong created = new AtomicLong();
+        private final AtomicLong updated = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ImportProgress.RowError> errors = new ArrayList<>();
+        private final ReentrantLock errorsLock = new ReentrantLock();
+        private volatile ImportProgress.Status status = ImportProgress.Status.RUNNING;
+        private volatile Instant finishedAt;
+
+        ImportJob(UUID id, Long storeId) {
+            this.id = id;
+            this.storeId = storeId;
+        }
+
+        // Only the first errors are kept; the count covers all of them
+        void error(long line, String sku, String message) {
+            failed.incrementAndGet();
+            errorsLock.lock();
+            try {
+                if (errors.size() < maxErrors) {
+                    errors.add(new ImportProgress.RowError(line, sku, message));
+                }
+            } finally {
+                errorsLock.unlock();
+            }
+        }
+
+        void abort(String message) {
+            errorsLock.lock();
+            try {
+                errors.add(new ImportProgress.RowError(0, null, message));
+            } finally {
+                errorsLock.unlock();
+            }
+            finish(ImportProgress.Status.FAILED);
+        }
+
+        void finish(ImportProgress.Status outcome) {
+            finishedAt = Instant.now();
+            status = outcome;
+        }
+
+        ImportProgress progress() {
+            List<ImportProgress.RowError> snapshot;
+            errorsLock.lock();
+            try {
+                snapshot = List.copyOf(errors);
+            } finally {
+                errorsLock.unlock();
+            }
+            return new ImportProgress(id, storeId, status, rowsRead.get(), created.get(), updated.get(),
+                    failed.get(), snapshot, startedAt, finishedAt);
+        }
+    }
+}
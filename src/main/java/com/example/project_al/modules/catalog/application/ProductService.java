@@ -2,17 +2,38 @@ package com.example.project_al.modules.catalog.application;
 
 import com.example.project_al.modules.catalog.domain.Category;
 import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.catalog.infrastructure.CatalogBrowseIndex;
+import com.example.project_al.modules.catalog.infrastructure.CategoryClosureRepository;
 import com.example.project_al.modules.catalog.infrastructure.CategoryRepository;
 import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import com.example.project_al.modules.catalog.infrastructure.ProductSearchIndex;
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+import com.example.project_al.shared.kernel.AfterCommit;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,12 +42,21 @@ public class ProductService {
 
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
+    private final CategoryClosureRepository categoryClosureRepository;
+    private final CategoryHierarchy categoryHierarchy;
+    private final ProductSearchIndex productSearchIndex;
+    private final CatalogBrowseIndex catalogBrowseIndex;
+    private final InventoryService inventoryService;
+    private final ProductCache productCache;
+    private final StockStriping stockStriping;
 
     public Product createProduct(Product product) {
         if (product.getSku() != null && productRepository.findBySku(product.getSku()).isPresent()) {
             throw new RuntimeException("SKU already exists");
         }
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        onProductChanged(saved);
+        return saved;
     }
 
     public Product updateProduct(Long id, Product productDetails) {
@@ -36,6 +66,8 @@ public class ProductService {
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
         product.setPrice(productDetails.getPrice());
+        int quantityDelta = stockStriping.reset(id, productDetails.getQuantity(),
+                productDetails.getQuantity() - product.getQuantity());
         product.setQuantity(productDetails.getQuantity());
         product.setOptions(productDetails.getOptions());
         product.setSku(productDetails.getSku());
@@ -45,38 +77,187 @@ public class ProductService {
             product.setCategory(productDetails.getCategory());
         }
 
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        onProductChanged(saved);
+        AfterCommit.run(() -> inventoryService.adjust(id, quantityDelta));
+        return saved;
     }
 
     public Optional<Product> findById(Long id) {
         return productRepository.findById(id);
     }
 
-    public Page<Product> searchProducts(String keyword, Pageable pageable) {
-        return productRepository.searchProducts(keyword, pageable);
+    @Transactional(readOnly = true)
+    public Optional<ProductView> findViewById(Long id) {
+        return productCache.get(id, key -> productRepository.findById(key).map(ProductView::from));
     }
 
-    public Page<Product> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
+    @Transactional(readOnly = true)
+    public Optional<ProductView> findViewBySku(String sku) {
+        return productCache.getBySku(sku, key -> productRepository.findBySku(key).map(ProductView::from));
+    }
+
+    public List<Product> findAllForCheckout(Collection<Long> ids) {
+        return productRepository.findAllForCheckout(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> searchProducts(String keyword, Pageable pageable) {
+        if (!productSearchIndex.isReady()) {
+            return productRepository.searchProducts(keyword, pageable);
+        }
+
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(keyword, offset, limit);
+
+        return new PageImpl<>(findSummariesInOrder(result.ids()), pageable, result.total());
+    }
+
+    // Keyset variant: the first page pins the ranking of every hit and the cursor carries that ranking
+    // and the position after the page, so following it never repeats or skips a product
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummary> searchProducts(String keyword, String cursor, int size, boolean count) {
+        ProductSearchIndex.RankedPage ranked;
+        int position = 0;
+        if (cursor == null) {
+            ranked = productSearchIndex.rank(keyword, size + 1);
+        } else {
+            KeysetCursor last = KeysetCursor.decode(cursor);
+            position = Math.toIntExact(last.id());
+            ranked = productSearchIndex.page(searchSession(last.key()), keyword, position, size + 1);
+        }
+        long next = (long) position + size;
+        CursorPage<Long> ids = CursorPage.of(ranked.ids(), size, id -> KeysetCursor.of(ranked.session(), next),
+                count ? ranked.total() : null);
+        return new CursorPage<>(findSummariesInOrder(ids.content()), ids.nextCursor(), ids.hasNext(), ids.totalElements());
+    }
+
+    private static UUID searchSession(String key) {
+        try {
+            return UUID.fromString(key);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid cursor");
+        }
+    }
+
+    private List<ProductSummary> findSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProductSummary> byId = productRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ProductSummary::id, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    public Page<ProductSummary> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
         return productRepository.findByPriceRange(minPrice, maxPrice, pageable);
     }
 
-    public List<Product> findByCategoryId(Long categoryId) {
+    @Transactional(readOnly = true)
+    public CursorPage<ProductSummary> findByPriceRange(BigDecimal minPrice, BigDecimal maxPrice,
+                                                       String cursor, int size, boolean count) {
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+        BigDecimal afterPrice = after != null ? new BigDecimal(after.key()) : minPrice;
+        Long afterId = after != null ? after.id() : 0L;
+
+        List<ProductSummary> rows = productRepository.findByPriceRangeAfter(
+                minPrice, maxPrice, afterPrice, afterId, PageRequest.of(0, size + 1));
+        Long total = count ? productRepository.countByPriceBetween(minPrice, maxPrice) : null;
+        return CursorPage.of(rows, size, product -> KeysetCursor.of(product.price(), product.id()), total);
+    }
+
+    // Facets are only available once the browse index has loaded
+    @Transactional(readOnly = true)
+    public BrowsePage browse(BigDecimal minPrice, BigDecimal maxPrice, Long categoryId, Long storeId,
+                             boolean inStockOnly, boolean descending, int page, int size) {
+        if (!catalogBrowseIndex.isReady()) {
+            Sort byPrice = descending ? Sort.by("price").descending() : Sort.by("price");
+            Page<ProductSummary> result = productRepository.findForBrowse(minPrice, maxPrice, categoryId, storeId,
+                    inStockOnly, PageRequest.of(page, size, byPrice.and(Sort.by("id"))));
+            return new BrowsePage(result.getContent(), result.getTotalElements(), page, size,
+                    CatalogBrowseIndex.Facets.empty());
+        }
+
+        Collection<Long> categories = categoryId != null ? categorySubtree(categoryId) : null;
+        CatalogBrowseIndex.Result result = catalogBrowseIndex.browse(
+                new CatalogBrowseIndex.Query(minPrice, maxPrice, categories, storeId, inStockOnly, descending),
+                (long) page * size, size);
+        return new BrowsePage(findSummariesInOrder(result.ids()), result.total(), page, size, result.facets());
+    }
+
+    private List<Long> categorySubtree(Long categoryId) {
+        List<Long> ids = new ArrayList<>();
+        Deque<CategoryHierarchy.CategoryNode> pending = new ArrayDeque<>();
+        categoryHierarchy.find(categoryId).ifPresent(pending::add);
+        while (!pending.isEmpty()) {
+            CategoryHierarchy.CategoryNode node = pending.poll();
+            ids.add(node.id());
+            pending.addAll(node.children());
+        }
+        return ids;
+    }
+
+    public List<ProductSummary> findByCategoryId(Long categoryId) {
         return productRepository.findByCategoryId(categoryId);
     }
 
-    public List<Product> findByStoreId(Long storeId) {
+    public List<ProductSummary> findByStoreId(Long storeId) {
         return productRepository.findByStoreId(storeId);
     }
 
-    public List<Product> findAvailableProducts() {
+    public List<ProductSummary> findAvailableProducts() {
         return productRepository.findAvailableProducts();
     }
 
+    // Must be consumed and closed inside the caller's transaction
+    @Transactional(readOnly = true)
+    public Stream<ProductSummary> streamAvailableProducts() {
+        return productRepository.streamAvailableProducts();
+    }
+
     public Category createCategory(Category category) {
         if (categoryRepository.findByName(category.getName()).isPresent()) {
             throw new RuntimeException("Category name already exists");
         }
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoryClosureRepository.insertPaths(saved.getId(),
+                saved.getParent() != null ? saved.getParent().getId() : null);
+        AfterCommit.run(categoryHierarchy::refresh);
+        return saved;
+    }
+
+    // Rewrites the closure paths of the whole subtree, which moves with the category
+    public void moveCategory(Long categoryId, Long parentId) {
+        Category category = categoryRepository.findById(categoryId)
+                .orElseThrow(() -> new RuntimeException("Category not found"));
+        Category parent = null;
+        if (parentId != null) {
+            if (categoryClosureRepository.findDescendantIds(categoryId).contains(parentId)) {
+                throw new RuntimeException("A category cannot move under itself or its subcategories");
+            }
+            parent = categoryRepository.findById(parentId)
+                    .orElseThrow(() -> new RuntimeException("Parent category not found"));
+        }
+        category.setParent(parent);
+        categoryRepository.save(category);
+        categoryClosureRepository.detachSubtree(categoryId);
+        if (parentId != null) {
+            categoryClosureRepository.attachSubtree(categoryId, parentId);
+        }
+        AfterCommit.run(categoryHierarchy::refresh);
+    }
+
+    public List<CategoryHierarchy.CategoryNode> getCategoryMenu() {
+        return categoryHierarchy.menu();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProductSummary> findProductsInCategorySubtree(Long categoryId, Pageable pageable) {
+        return productRepository.findActiveInCategorySubtree(categoryId, pageable);
     }
 
     public List<Category> getRootCategories() {
@@ -87,18 +268,24 @@ public class ProductService {
         return categoryRepository.findByParentId(parentId);
     }
 
+    // Runs outside a transaction so a conflicting update can be retried, or moved to stock buckets
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void reduceProductQuantity(Long productId, Integer quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        product.reduceQuantity(quantity);
-        productRepository.save(product);
+        adjustQuantity(productId, -quantity);
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public void increaseProductQuantity(Long productId, Integer quantity) {
-        Product product = productRepository.findById(productId)
-                .orElseThrow(() -> new RuntimeException("Product not found"));
-        product.increaseQuantity(quantity);
-        productRepository.save(product);
+        adjustQuantity(productId, quantity);
+    }
+
+    public List<StripedProduct> getStripedProducts() {
+        return stockStriping.stripedProducts();
+    }
+
+    private void adjustQuantity(Long productId, int delta) {
+        stockStriping.adjust(productId, delta).ifPresent(this::onProductChanged);
+        inventoryService.adjust(productId, delta);
     }
 
     public void deactivateProduct(Long id) {
@@ -106,6 +293,7 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setIsActive(false); // Changed from setActive to setIsActive
         productRepository.save(product);
+        onProductChanged(product);
     }
 
     public void activateProduct(Long id) {
@@ -113,6 +301,7 @@ public class ProductService {
                 .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setIsActive(true); // Changed from setActive to setIsActive
         productRepository.save(product);
+        onProductChanged(product);
     }
 
     // Additional useful methods
@@ -124,4 +313,17 @@ public class ProductService {
     public List<Product> findProductsByStoreAndCategory(Long storeId, Long categoryId) {
         return productRepository.findByStoreIdAndCategoryId(storeId, categoryId);
     }
+
+    // The version read after commit is the one Hibernate just wrote, which keeps stale cache loads out
+    private void onProductChanged(Product product) {
+        ProductSummary summary = new ProductSummary(product.getId(), product.getName(), product.getPrice(),
+                product.getQuantity(), product.getSku(), product.getImageUrl(), product.getAverageRating(),
+                product.getIsActive(), product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getStore() != null ? product.getStore().getId() : null);
+        AfterCommit.run(() -> {
+            productSearchIndex.index(product);
+            catalogBrowseIndex.index(summary);
+            productCache.invalidate(product.getId(), product.getVersion());
+        });
+    }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.domain.Product;
+
+import java.math.BigDecimal;
+
+public record ProductView(
+        Long id,
+        String name,
+        String description,
+        BigDecimal price,
+        Integer quantity,
+        String sku,
+        String imageUrl,
+        String options,
+        Double averageRating,
+        Boolean isActive,
+        Long categoryId,
+        Long storeId,
+        Integer version
+) {
+
+    public static ProductView from(Product product) {
+        return new ProductView(
+                product.getId(),
+                product.getName(),
+                product.getDescription(),
+                product.getPrice(),
+                product.getQuantity(),
+                product.getSku(),
+                product.getImageUrl(),
+                product.getOptions(),
+                product.getAverageRating(),
+                product.getIsActive(),
+                product.getCategory() != null ? product.getCategory().getId() : null,
+                product.getStore() != null ? product.getStore().getId() : null,
+                product.getVersion()
+        );
+    }
+
+    boolean isOlderThan(Integer otherVersion) {
+        return otherVersion != null && (version == null || version < otherVersion);
+    }
+}
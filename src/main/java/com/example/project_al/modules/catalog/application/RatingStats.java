@@ -0,0 +1,18 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.domain.ProductRating;
+
+import java.util.List;
+
+// histogram[i] is the number of (i + 1)-star reviews
+public record RatingStats(Long productId, long count, double average, List<Long> histogram) {
+
+    public static RatingStats empty(Long productId) {
+        return new RatingStats(productId, 0, 0.0, List.of(0L, 0L, 0L, 0L, 0L));
+    }
+
+    public static RatingStats of(ProductRating rating) {
+        return new RatingStats(rating.getProductId(), rating.getRatingCount(), rating.getAverageRating(),
+                List.of(rating.getStars1(), rating.getStars2(), rating.getStars3(), rating.getStars4(), rating.getStars5()));
+    }
+}
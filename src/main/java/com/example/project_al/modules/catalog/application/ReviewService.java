@@ -0,0 +1,140 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.catalog.domain.Review;
+import com.example.project_al.modules.catalog.infrastructure.ProductRatingRepository;
+import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import com.example.project_al.modules.catalog.infrastructure.ProductSummary;
+import com.example.project_al.modules.catalog.infrastructure.ReviewRepository;
+import com.example.project_al.modules.catalog.infrastructure.ReviewSummary;
+import com.example.project_al.shared.kernel.AfterCommit;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Reviews and the per-product aggregates behind Product.averageRating. Every review change applies
+ * its delta to product_ratings in the same transaction, so ratings never need to be recomputed
+ * from the reviews table.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class ReviewService {
+
+    private static final int MIN_RATING = 1;
+    private static final int MAX_RATING = 5;
+
+    private final ReviewRepository reviewRepository;
+    private final ProductRatingRepository productRatingRepository;
+    private final ProductRepository productRepository;
+    private final ProductCache productCache;
+
+    // Reviews written before aggregates existed are folded in once
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        if (productRatingRepository.count() == 0 && reviewRepository.count() > 0) {
+            int products = productRatingRepository.backfillFromReviews();
+            productRatingRepository.backfillProductAverages();
+            log.info("Seeded rating aggregates for {} products", products);
+        }
+    }
+
+    public ReviewSummary addReview(Long productId, Review review) {
+        validate(review.getRating());
+        if (review.getUser() == null || review.getUser().getId() == null) {
+            throw new RuntimeException("Reviewer is required");
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new RuntimeException("Product not found");
+        }
+        if (reviewRepository.existsByProductIdAndUserId(productId, review.getUser().getId())) {
+            throw new RuntimeException("User already reviewed this product");
+        }
+
+        Product product = productRepository.getReferenceById(productId);
+        review.setProduct(product);
+        if (review.getReviewDate() == null) {
+            review.setReviewDate(LocalDateTime.now());
+        }
+        Review saved = reviewRepository.save(review);
+        long[] buckets = new long[MAX_RATING];
+        buckets[saved.getRating() - 1]++;
+        applyDelta(productId, 1, saved.getRating(), buckets);
+        return ReviewSummary.from(saved);
+    }
+
+    public ReviewSummary updateReview(Long reviewId, Review reviewDetails) {
+        validate(reviewDetails.getRating());
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+
+        int previous = review.getRating();
+        review.setRating(reviewDetails.getRating());
+        review.setComment(reviewDetails.getComment());
+        Review saved = reviewRepository.save(review);
+        if (previous != saved.getRating()) {
+            long[] buckets = new long[MAX_RATING];
+            buckets[previous - 1]--;
+            buckets[saved.getRating() - 1]++;
+            applyDelta(saved.getProduct().getId(), 0, saved.getRating() - previous, buckets);
+        }
+        return ReviewSummary.from(saved);
+    }
+
+    public void deleteReview(Long reviewId) {
+        Review review = reviewRepository.findById(reviewId)
+                .orElseThrow(() -> new RuntimeException("Review not found"));
+        reviewRepository.delete(review);
+        long[] buckets = new long[MAX_RATING];
+        buckets[review.getRating() - 1]--;
+        applyDelta(review.getProduct().getId(), -1, -review.getRating(), buckets);
+    }
+
+    @Transactional(readOnly = true)
+    public RatingStats getRatingStats(Long productId) {
+        return productRatingRepository.findById(productId)
+                .map(RatingStats::of)
+                .orElseGet(() -> RatingStats.empty(productId));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ReviewSummary> getProductReviews(Long productId, String cursor, int size) {
+        Long beforeId = cursor != null ? KeysetCursor.decode(cursor).id() : Long.MAX_VALUE;
+        List<ReviewSummary> rows = reviewRepository.findByProductIdBefore(productId, beforeId, PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, review -> KeysetCursor.of(review.id(), review.id()), null);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ProductSummary> findTopRatedInCategory(Long categoryId, long minReviews, int limit) {
+        return productRatingRepository.findTopRatedInCategory(categoryId, minReviews, PageRequest.of(0, limit));
+    }
+
+    // buckets[i] is the change in (i + 1)-star reviews. A product without aggregates yet is seeded from
+    // its flushed reviews, which already include this change, so the delta only applies to existing rows.
+    private void applyDelta(Long productId, long countDelta, long sumDelta, long[] buckets) {
+        reviewRepository.flush();
+        if (productRatingRepository.seedFromReviews(productId) == 0) {
+            productRatingRepository.applyDelta(productId, countDelta, sumDelta,
+                    buckets[0], buckets[1], buckets[2], buckets[3], buckets[4]);
+        }
+        productRatingRepository.copyAverageToProduct(productId);
+        AfterCommit.run(() -> productCache.invalidate(productId, null));
+    }
+
+    private static void validate(Integer rating) {
+        if (rating == null || rating < MIN_RATING || rating > MAX_RATING) {
+            throw new RuntimeException("Rating must be between " + MIN_RATING + " and " + MAX_RATING);
+        }
+    }
+}
@@ -0,0 +1,258 @@
+package com.example.project_al.modules.catalog.application;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.catalog.infrastructure.ProductRepository;
+import com.example.project_al.modules.catalog.infrastructure.ProductStockWriter;
+import com.example.project_al.modules.catalog.infrastructure.StockBucketWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Watches contention on product stock. Checkout reservations that lose a CAS race and optimistic-lock
+ * conflicts on direct stock updates both count as conflicts. A product that keeps
+ * conflicting is striped: its stock moves to several bucket rows that writers update independently,
+ * summed on read. Striped products are rebalanced in the background and folded back once they go quiet.
+ * Writers hold the routing read lock while they pick a path, so a product never changes mode under them.
+ */
+@Slf4j
+@Service
+public class StockStriping {
+
+    private final ProductRepository productRepository;
+    private final ProductStockWriter productStockWriter;
+    private final StockBucketWriter stockBucketWriter;
+    private final ProductCache productCache;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentMap<Long, ContentionWindow> contention = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Instant> striped = new ConcurrentHashMap<>();
+    private final Set<Long> hot = ConcurrentHashMap.newKeySet();
+    private final ReentrantReadWriteLock routing = new ReentrantReadWriteLock();
+
+    @Value("${catalog.stock.striping.buckets:8}")
+    private int buckets;
+
+    @Value("${catalog.stock.striping.window:PT1M}")
+    private Duration window;
+
+    @Value("${catalog.stock.striping.min-conflicts:5}")
+    private int minConflicts;
+
+    @Value("${catalog.stock.striping.min-conflict-ratio:0.2}")
+    private double minConflictRatio;
+
+    @Value("${catalog.stock.striping.cold-updates:20}")
+    private int coldUpdates;
+
+    @Value("${catalog.stock.striping.max-attempts:5}")
+    private int maxAttempts;
+
+    public StockStriping(ProductRepository productRepository,
+                         ProductStockWriter productStockWriter,
+                         StockBucketWriter stockBucketWriter,
+                         ProductCache productCache,
+                         PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.productStockWriter = productStockWriter;
+        this.stockBucketWriter = stockBucketWriter;
+        this.productCache = productCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStriped() {
+        Instant now = Instant.now();
+        stockBucketWriter.findStriped().forEach(stock -> striped.put(stock.productId(), now));
+        if (!striped.isEmpty()) {
+            log.info("{} products have striped stock", striped.size());
+        }
+    }
+
+    public boolean isStriped(Long productId) {
+        return striped.containsKey(productId);
+    }
+
+    public int quantity(Long productId) {
+        return stockBucketWriter.total(productId);
+    }
+
+    /**
+     * Applies a stock change on its own. Returns the saved product when the change went to the
+     * product row, and empty when it went to the product's buckets.
+     */
+    public Optional<Product> adjust(Long productId, int delta) {
+        for (int attempt = 1; ; attempt++) {
+            routing.readLock().lock();
+            try {
+                if (isStriped(productId)) {
+                    if (delta < 0) {
+                        stockBucketWriter.take(productId, -delta, buckets);
+                    } else {
+                        stockBucketWriter.add(Map.of(productId, delta), buckets);
+                    }
+                    record(productId, false);
+                    return Optional.empty();
+                }
+                Product saved = transactionTemplate.execute(status -> {
+                    Product product = productRepository.findById(productId)
+                            .orElseThrow(() -> new RuntimeException("Product not found"));
+                    if (delta < 0) {
+                        product.reduceQuantity(-delta);
+                    } else {
+                        product.increaseQuantity(delta);
+                    }
+                    return productRepository.saveAndFlush(product);
+                });
+                record(productId, false);
+                return Optional.of(saved);
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                record(productId, true);
+            } finally {
+                routing.readLock().unlock();
+            }
+            if (window(productId).isHot(minConflicts, minConflictRatio, System.nanoTime())) {
+                stripe(productId);
+            }
+        }
+    }
+
+    // Called for every checkout reservation; hot products are striped by the next rebalance run,
+    // off the request thread
+    public void recordReservation(Long productId, boolean contended) {
+        record(productId, contended);
+        if (contended && !isStriped(productId)
+                && window(productId).isHot(minConflicts, minConflictRatio, System.nanoTime())) {
+            hot.add(productId);
+        }
+    }
+
+    // Write-behind deltas; returns the committed version of every product row that was updated
+    public Map<Long, Integer> applyDeltas(Map<Long, Integer> deltas) {
+        Map<Long, Integer> rows = new HashMap<>();
+        Map<Long, Integer> bucketed = new HashMap<>();
+        routing.readLock().lock();
+        try {
+            deltas.forEach((productId, delta) -> (isStriped(productId) ? bucketed : rows).put(productId, delta));
+            if (!bucketed.isEmpty()) {
+                stockBucketWriter.add(bucketed, buckets);
+                bucketed.keySet().forEach(productId -> record(productId, false));
+            }
+            rows.keySet().forEach(productId -> record(productId, false));
+            return rows.isEmpty() ? Map.of() : productStockWriter.applyDeltas(rows);
+        } finally {
+            routing.readLock().unlock();
+        }
+    }
+
+    /**
+     * Absolute quantity set by a product update or import, which writes the product row itself.
+     * Striped products get their buckets reset to the quantity; returns the change in stock, which
+     * is rowDelta for products that are not striped.
+     */
+    public int reset(Long productId, int quantity, int rowDelta) {
+        routing.readLock().lock();
+        try {
+            return isStriped(productId) ? stockBucketWriter.reset(productId, quantity, buckets) : rowDelta;
+        } finally {
+            routing.readLock().unlock();
+        }
+    }
+
+    public void stripe(Long productId) {
+        routing.writeLock().lock();
+        try {
+            if (isStriped(productId)) {
+                return;
+            }
+            Integer version = stockBucketWriter.stripe(productId, buckets);
+            striped.put(productId, Instant.now());
+            if (version != null) {
+                productCache.invalidate(productId, version);
+            }
+            log.info("Striped stock of product {} over {} buckets", productId, buckets);
+        } finally {
+            routing.writeLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.stock.striping.rebalance-interval-ms:5000}")
+    public void rebalance() {
+        for (Long productId : hot) {
+            hot.remove(productId);
+            try {
+                stripe(productId);
+            } catch (RuntimeException e) {
+                log.warn("Striping stock of product {} failed", productId, e);
+            }
+        }
+        long now = System.nanoTime();
+        Instant settled = Instant.now().minus(window);
+        for (Map.Entry<Long, Instant> entry : striped.entrySet()) {
+            Long productId = entry.getKey();
+            try {
+                if (entry.getValue().isBefore(settled) && window(productId).isCold(coldUpdates, now)) {
+                    merge(productId);
+                } else if (stockBucketWriter.rebalance(productId, buckets)) {
+                    productCache.invalidate(productId, null);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Rebalancing stock buckets of product {} failed", productId, e);
+            }
+        }
+        contention.entrySet().removeIf(entry ->
+                !isStriped(entry.getKey()) && entry.getValue().isCold(1, now));
+    }
+
+    public List<StripedProduct> stripedProducts() {
+        return stockBucketWriter.findStriped().stream()
+                .map(stock -> {
+                    ContentionWindow stats = window(stock.productId());
+                    return new StripedProduct(stock.productId(), stock.buckets(), stock.quantity(),
+                            stats.attempts(), stats.conflicts(), striped.get(stock.productId()));
+                })
+                .sorted(Comparator.comparingLong(StripedProduct::updates).reversed())
+                .toList();
+    }
+
+    private void merge(Long productId) {
+        routing.writeLock().lock();
+        try {
+            stockBucketWriter.merge(productId);
+            striped.remove(productId);
+            productCache.invalidate(productId, null);
+            log.info("Merged stock buckets of product {} back into the product row", productId);
+        } finally {
+            routing.writeLock().unlock();
+        }
+    }
+
+    private void record(Long productId, boolean conflicted) {
+        window(productId).record(conflicted, System.nanoTime());
+    }
+
+    private ContentionWindow window(Long productId) {
+        return contention.computeIfAbsent(productId, id -> new ContentionWindow(window.toNanos(), System.nanoTime()));
+    }
+}
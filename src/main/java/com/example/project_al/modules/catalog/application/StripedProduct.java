@@ -0,0 +1,6 @@
+package com.example.project_al.modules.catalog.application;
+
+import java.time.Instant;
+
+public record StripedProduct(Long productId, int buckets, int quantity, long updates, long conflicts, Instant stripedAt) {
+}
@@ -10,7 +10,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category_id, price"),
+        @Index(name = "idx_products_price_id", columnList = "price, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -52,7 +55,8 @@ public class Product extends BaseEntity {
 
     // REMOVED: private Boolean active = true; // This is already in BaseEntity
 
-    @Column(name = "average_rating")
+    // Maintained by the rating aggregates; entity updates must not write back a stale value
+    @Column(name = "average_rating", updatable = false)
     private Double averageRating = 0.0;
 
     public void command() {
@@ -0,0 +1,44 @@
+package com.example.project_al.modules.catalog.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+// Running review aggregates per product; only ever changed by relative updates so concurrent reviews add up
+@Entity
+@Table(name = "product_ratings", indexes = {
+        @Index(name = "idx_product_ratings_average", columnList = "average_rating, rating_count")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRating {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    @Column(name = "stars_1", nullable = false)
+    private Long stars1;
+
+    @Column(name = "stars_2", nullable = false)
+    private Long stars2;
+
+    @Column(name = "stars_3", nullable = false)
+    private Long stars3;
+
+    @Column(name = "stars_4", nullable = false)
+    private Long stars4;
+
+    @Column(name = "stars_5", nullable = false)
+    private Long stars5;
+
+    @Column(name = "average_rating", nullable = false)
+    private Double averageRating;
+}
@@ -8,7 +8,11 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "reviews")
+@Table(name = "reviews",
+        uniqueConstraints = @UniqueConstraint(name = "uk_reviews_product_user", columnNames = {"product_id", "user_id"}),
+        indexes = {
+        @Index(name = "idx_reviews_product_id", columnList = "product_id, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
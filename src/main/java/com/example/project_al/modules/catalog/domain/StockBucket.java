@@ -0,0 +1,36 @@
+package com.example.project_al.modules.catalog.domain;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+// One slice of a striped product's stock; the product's stock is the sum of its buckets
+@Entity
+@Table(name = "product_stock_buckets")
+@IdClass(StockBucket.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockBucket {
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Id
+    @Column(name = "bucket")
+    private Integer bucket;
+
+    @Column(name = "quantity", nullable = false)
+    private Integer quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long productId;
+        private Integer bucket;
+    }
+}
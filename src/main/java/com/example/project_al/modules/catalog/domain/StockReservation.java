@@ -0,0 +1,11 @@
+package com.example.project_al.modules.catalog.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record StockReservation(UUID id, Long productId, int quantity, Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return expiresAt.isBefore(now);
+    }
+}
@@ -0,0 +1,341 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Column store over the filterable fields of every product, for faceted browsing. Each product owns
+ * a slot in primitive columns; active products are kept in one sorted array of (price, slot) keys,
+ * and stock, category and store membership are bitsets. A browse walks the price range once,
+ * testing the other filters per slot and counting facets as it goes.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CatalogBrowseIndex {
+
+    private static final int LOAD_BATCH_SIZE = 5_000;
+    // Keys are price in cents shifted above the slot, which leaves 34 bits for the price
+    private static final int SLOT_BITS = 29;
+    private static final long SLOT_MASK = (1L << SLOT_BITS) - 1;
+    private static final long MAX_CENTS = (1L << (63 - SLOT_BITS)) - 1;
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Columns columns = new Columns();
+    // Updates that arrive while rebuild() loads, replayed in order over the load before it is swapped in
+    private List<Consumer<Columns>> pendingUpdates;
+    private volatile boolean ready;
+
+    public record Query(BigDecimal minPrice, BigDecimal maxPrice, Collection<Long> categoryIds, Long storeId,
+                        boolean inStockOnly, boolean descending) {
+    }
+
+    public record Facets(Map<Long, Integer> categories, Map<Long, Integer> stores, int inStock,
+                         BigDecimal minPrice, BigDecimal maxPrice) {
+
+        public static Facets empty() {
+            return new Facets(Map.of(), Map.of(), 0, null, null);
+        }
+    }
+
+    public record Result(List<Long> ids, int total, Facets facets) {
+    }
+
+    // Loads into fresh columns without the lock, so after-commit updates and the stock write-behind
+    // never wait for the startup load
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Columns loaded = new Columns();
+        boolean complete = false;
+        try {
+            long afterId = 0L;
+            List<ProductSummary> batch;
+            do {
+                batch = productRepository.findActiveSummariesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (ProductSummary product : batch) {
+                    loaded.put(product, false);
+                    afterId = product.id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            loaded.sortKeys();
+            complete = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (complete) {
+                    pendingUpdates.forEach(update -> update.accept(loaded));
+                    columns = loaded;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        log.info("Catalog browse index built with {} products in {} ms", loaded.priceKeyCount, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(ProductSummary product) {
+        update(target -> target.put(product, true));
+    }
+
+    public void remove(Long productId) {
+        update(target -> target.remove(productId));
+    }
+
+    public void updateStock(Long productId, boolean available) {
+        update(target -> target.updateStock(productId, available));
+    }
+
+    public Result browse(Query query, long offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return columns.browse(query, offset, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Consumer<Columns> update) {
+        lock.writeLock().lock();
+        try {
+            update.accept(columns);
+            if (pendingUpdates != null) {
+                pendingUpdates.add(update);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Not thread-safe; the index lock guards the columns once they are swapped in
+    private static final class Columns {
+
+        private final Map<Long, Integer> slots = new HashMap<>();
+        private long[] ids = new long[1024];
+        private long[] cents = new long[1024];
+        private long[] categoryIds = new long[1024];
+        private long[] storeIds = new long[1024];
+        private final BitSet active = new BitSet();
+        private final BitSet inStock = new BitSet();
+        private final Map<Long, BitSet> byCategory = new HashMap<>();
+        private final Map<Long, BitSet> byStore = new HashMap<>();
+        private long[] priceKeys = new long[1024];
+        private int priceKeyCount;
+
+        Result browse(Query query, long offset, int limit) {
+            BitSet categories = categoryFilter(query.categoryIds());
+            BitSet store = query.storeId() != null ? byStore.getOrDefault(query.storeId(), new BitSet()) : null;
+            int from = query.minPrice() != null ? lowerBound(key(toCents(query.minPrice()), 0)) : 0;
+            int to = query.maxPrice() != null && toCents(query.maxPrice()) < MAX_CENTS
+                    ? lowerBound(key(toCents(query.maxPrice()) + 1, 0)) : priceKeyCount;
+
+            Map<Long, Integer> categoryCounts = new HashMap<>();
+            Map<Long, Integer> storeCounts = new HashMap<>();
+            List<Long> page = new ArrayList<>(Math.max(0, Math.min(limit, to - from)));
+            int total = 0;
+            int inStockCount = 0;
+            long minCents = Long.MAX_VALUE;
+            long maxCents = Long.MIN_VALUE;
+            for (int i = 0; i < to - from; i++) {
+                int slot = (int) (priceKeys[query.descending() ? to - 1 - i : from + i] & SLOT_MASK);
+                boolean stocked = inStock.get(slot);
+                if ((query.inStockOnly() && !stocked)
+                        || (categories != null && !categories.get(slot))
+                        || (store != null && !store.get(slot))) {
+                    continue;
+                }
+                if (total >= offset && page.size() < limit) {
+                    page.add(ids[slot]);
+                }
+                total++;
+                if (stocked) {
+                    inStockCount++;
+                }
+                if (categoryIds[slot] != 0) {
+                    categoryCounts.merge(categoryIds[slot], 1, Integer::sum);
+                }
+                if (storeIds[slot] != 0) {
+                    storeCounts.merge(storeIds[slot], 1, Integer::sum);
+                }
+                minCents = Math.min(minCents, cents[slot]);
+                maxCents = Math.max(maxCents, cents[slot]);
+            }
+            Facets facets = total == 0 ? Facets.empty() : new Facets(categoryCounts, storeCounts, inStockCount,
+                    BigDecimal.valueOf(minCents, 2), BigDecimal.valueOf(maxCents, 2));
+            return new Result(page, total, facets);
+        }
+
+        void remove(Long productId) {
+            Integer slot = slots.get(productId);
+            if (slot != null) {
+                deactivate(slot);
+            }
+        }
+
+        void updateStock(Long productId, boolean available) {
+            Integer slot = slots.get(productId);
+            if (slot != null) {
+                inStock.set(slot, available);
+            }
+        }
+
+        // Bulk loads sort once instead of inserting key by key
+        void sortKeys() {
+            priceKeyCount = 0;
+            active.stream().forEach(slot -> appendKey(key(cents[slot], slot)));
+            Arrays.sort(priceKeys, 0, priceKeyCount);
+        }
+
+        private BitSet categoryFilter(Collection<Long> categories) {
+            if (categories == null) {
+                return null;
+            }
+            BitSet union = new BitSet();
+            for (Long categoryId : categories) {
+                BitSet posting = byCategory.get(categoryId);
+                if (posting != null) {
+                    union.or(posting);
+                }
+            }
+            return union;
+        }
+
+        void put(ProductSummary product, boolean maintainOrder) {
+            Integer existing = slots.get(product.id());
+            int slot = existing != null ? existing : allocate(product.id());
+            if (existing != null) {
+                deactivate(slot);
+            }
+            if (Boolean.FALSE.equals(product.isActive()) || product.price() == null) {
+                return;
+            }
+
+            cents[slot] = toCents(product.price());
+            categoryIds[slot] = product.categoryId() != null ? product.categoryId() : 0;
+            storeIds[slot] = product.storeId() != null ? product.storeId() : 0;
+            inStock.set(slot, product.quantity() != null && product.quantity() > 0);
+            if (categoryIds[slot] != 0) {
+                byCategory.computeIfAbsent(categoryIds[slot], id -> new BitSet()).set(slot);
+            }
+            if (storeIds[slot] != 0) {
+                byStore.computeIfAbsent(storeIds[slot], id -> new BitSet()).set(slot);
+            }
+            active.set(slot);
+            if (maintainOrder) {
+                insertKey(key(cents[slot], slot));
+            }
+        }
+
+        private void deactivate(int slot) {
+            if (!active.get(slot)) {
+                return;
+            }
+            active.clear(slot);
+            inStock.clear(slot);
+            BitSet category = byCategory.get(categoryIds[slot]);
+            if (category != null) {
+                category.clear(slot);
+            }
+            BitSet store = byStore.get(storeIds[slot]);
+            if (store != null) {
+                store.clear(slot);
+            }
+            int index = Arrays.binarySearch(priceKeys, 0, priceKeyCount, key(cents[slot], slot));
+            if (index >= 0) {
+                System.arraycopy(priceKeys, index + 1, priceKeys, index, priceKeyCount - index - 1);
+                priceKeyCount--;
+            }
+        }
+
+        private int allocate(Long productId) {
+            int slot = slots.size();
+            if (slot > SLOT_MASK) {
+                throw new IllegalStateException("Catalog browse index is full");
+            }
+            if (slot == ids.length) {
+                int capacity = ids.length * 2;
+                ids = Arrays.copyOf(ids, capacity);
+                cents = Arrays.copyOf(cents, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                storeIds = Arrays.copyOf(storeIds, capacity);
+            }
+            ids[slot] = productId;
+            slots.put(productId, slot);
+            return slot;
+        }
+
+        private void insertKey(long key) {
+            int index = lowerBound(key);
+            ensureKeyCapacity();
+            System.arraycopy(priceKeys, index, priceKeys, index + 1, priceKeyCount - index);
+            priceKeys[index] = key;
+            priceKeyCount++;
+        }
+
+        private void appendKey(long key) {
+            ensureKeyCapacity();
+            priceKeys[priceKeyCount++] = key;
+        }
+
+        private void ensureKeyCapacity() {
+            if (priceKeyCount == priceKeys.length) {
+                priceKeys = Arrays.copyOf(priceKeys, priceKeys.length * 2);
+            }
+        }
+
+        // First position whose key is not below the given one
+        private int lowerBound(long key) {
+            int low = 0;
+            int high = priceKeyCount;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (priceKeys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    private static long key(long cents, long slot) {
+        return (cents << SLOT_BITS) | slot;
+    }
+
+    static long toCents(BigDecimal price) {
+        long value = price.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        return Math.max(0, Math.min(value, MAX_CENTS));
+    }
+}
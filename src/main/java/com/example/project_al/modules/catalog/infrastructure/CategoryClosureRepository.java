@@ -0,0 +1,43 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.domain.CategoryClosure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface CategoryClosureRepository extends JpaRepository<CategoryClosure, CategoryClosure.Key> {
+
+    // Copies every path ending at the parent onto the new category, plus its self path
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT ancestor_id, :categoryId, depth + 1 FROM category_closure WHERE descendant_id = :parentId " +
+            "UNION ALL SELECT :categoryId, :categoryId, 0", nativeQuery = true)
+    void insertPaths(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    // Drops the paths that enter the subtree from above, keeping the ones inside it
+    @Modifying
+    @Query(value = "DELETE path FROM category_closure path " +
+            "JOIN category_closure subtree ON subtree.descendant_id = path.descendant_id AND subtree.ancestor_id = :categoryId " +
+            "LEFT JOIN category_closure inside ON inside.ancestor_id = :categoryId AND inside.descendant_id = path.ancestor_id " +
+            "WHERE inside.ancestor_id IS NULL", nativeQuery = true)
+    int detachSubtree(@Param("categoryId") Long categoryId);
+
+    // Joins every path ending at the new parent with every path inside the subtree
+    @Modifying
+    @Query(value = "INSERT INTO category_closure (ancestor_id, descendant_id, depth) " +
+            "SELECT above.ancestor_id, subtree.descendant_id, above.depth + subtree.depth + 1 " +
+            "FROM category_closure above JOIN category_closure subtree " +
+            "ON above.descendant_id = :parentId AND subtree.ancestor_id = :categoryId", nativeQuery = true)
+    int attachSubtree(@Param("categoryId") Long categoryId, @Param("parentId") Long parentId);
+
+    @Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId")
+    List<Long> findDescendantIds(@Param("categoryId") Long categoryId);
+
+    @Query("SELECT c.descendantId FROM CategoryClosure c WHERE c.depth = 0")
+    List<Long> findClosedIds();
+}
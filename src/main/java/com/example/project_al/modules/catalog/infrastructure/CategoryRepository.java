@@ -22,5 +22,13 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     @Query("SELECT c FROM Category c WHERE c.name LIKE %:keyword%")
     List<Category> searchByName(@Param("keyword") String keyword);
 
-    List<Category> findByActiveTrue();
+    List<Category> findByIsActiveTrue();
+
+    @Query("SELECT new com.example.project_al.modules.catalog.infrastructure.CategoryRow(c.id, c.name, c.imageUrl, parent.id) " +
+            "FROM Category c LEFT JOIN c.parent parent WHERE c.isActive = true")
+    List<CategoryRow> findActiveRows();
+
+    @Query("SELECT new com.example.project_al.modules.catalog.infrastructure.CategoryRow(c.id, c.name, c.imageUrl, parent.id) " +
+            "FROM Category c LEFT JOIN c.parent parent")
+    List<CategoryRow> findAllRows();
 }
\ No newline at end of file
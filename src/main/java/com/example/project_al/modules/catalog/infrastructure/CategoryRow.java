@@ -0,0 +1,4 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+public record CategoryRow(Long id, String name, String imageUrl, Long parentId) {
+}
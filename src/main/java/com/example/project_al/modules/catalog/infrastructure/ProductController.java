@@ -1,9 +1,18 @@
 package com.example.project_al.modules.catalog.infrastructure;
 
+import com.example.project_al.modules.catalog.application.BrowsePage;
+import com.example.project_al.modules.catalog.application.CategoryHierarchy;
+import com.example.project_al.modules.catalog.application.ImportProgress;
+import com.example.project_al.modules.catalog.application.ProductImportService;
 import com.example.project_al.modules.catalog.application.ProductService;
+import com.example.project_al.modules.catalog.application.ProductView;
+import com.example.project_al.modules.catalog.application.StripedProduct;
 import com.example.project_al.modules.catalog.domain.Category;
 import com.example.project_al.modules.catalog.domain.Product;
 import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.DataFormat;
+import com.example.project_al.shared.kernel.StreamingExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,13 +20,17 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Optional;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/products")
@@ -26,6 +39,8 @@ import java.util.Optional;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductImportService productImportService;
+    private final StreamingExporter exporter;
 
     @PostMapping
     @Operation(summary = "Create a new product")
@@ -37,8 +52,8 @@ public class ProductController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID")
-    public ResponseEntity<ApiResponse<Product>> getProduct(@PathVariable Long id) {
-        return productService.findById(id)
+    public ResponseEntity<ApiResponse<ProductView>> getProduct(@PathVariable Long id) {
+        return productService.findViewById(id)
                 .map(product -> ResponseEntity.ok(ApiResponse.success(product)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Product not found")));
@@ -46,9 +61,9 @@ public class ProductController {
 
     @GetMapping("/sku/{sku}")
     @Operation(summary = "Get product by SKU")
-    public ResponseEntity<ApiResponse<Product>> getProductBySku(@PathVariable String sku) {
-        Optional<Product> product = productService.findById(Long.parseLong(sku));
-        return product.map(value -> ResponseEntity.ok(ApiResponse.success(value)))
+    public ResponseEntity<ApiResponse<ProductView>> getProductBySku(@PathVariable String sku) {
+        return productService.findViewBySku(sku)
+                .map(product -> ResponseEntity.ok(ApiResponse.success(product)))
                 .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
                         .body(ApiResponse.error("Product not found")));
     }
@@ -64,46 +79,120 @@ public class ProductController {
 
     @GetMapping("/search")
     @Operation(summary = "Search products")
-    public ResponseEntity<ApiResponse<Page<Product>>> searchProducts(
+    public ResponseEntity<ApiResponse<Page<ProductSummary>>> searchProducts(
             @RequestParam String keyword,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<Product> products = productService.searchProducts(keyword, pageable);
+        Page<ProductSummary> products = productService.searchProducts(keyword, pageable);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search products with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> searchProductsByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        CursorPage<ProductSummary> products = productService.searchProducts(keyword, cursor, CursorPage.limit(size), count);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    @GetMapping("/browse")
+    @Operation(summary = "Browse active products by price, category subtree, store and stock, with facet counts")
+    public ResponseEntity<ApiResponse<BrowsePage>> browseProducts(
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) Long storeId,
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @RequestParam(defaultValue = "price_asc") String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        BrowsePage products = productService.browse(minPrice, maxPrice, categoryId, storeId, inStock,
+                "price_desc".equalsIgnoreCase(sort), Math.max(page, 0), CursorPage.limit(size));
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
     @GetMapping("/price-range")
     @Operation(summary = "Get products by price range")
-    public ResponseEntity<ApiResponse<Page<Product>>> getProductsByPriceRange(
+    public ResponseEntity<ApiResponse<Page<ProductSummary>>> getProductsByPriceRange(
             @RequestParam BigDecimal minPrice,
             @RequestParam BigDecimal maxPrice,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<Product> products = productService.findByPriceRange(minPrice, maxPrice, pageable);
+        Page<ProductSummary> products = productService.findByPriceRange(minPrice, maxPrice, pageable);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
+    @GetMapping("/price-range/cursor")
+    @Operation(summary = "Get products by price range with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<ProductSummary>>> getProductsByPriceRangeCursor(
+            @RequestParam BigDecimal minPrice,
+            @RequestParam BigDecimal maxPrice,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        CursorPage<ProductSummary> products = productService.findByPriceRange(
+                minPrice, maxPrice, cursor, CursorPage.limit(size), count);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
     @GetMapping("/category/{categoryId}")
     @Operation(summary = "Get products by category")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsByCategory(
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getProductsByCategory(
             @PathVariable Long categoryId) {
-        List<Product> products = productService.findByCategoryId(categoryId);
+        List<ProductSummary> products = productService.findByCategoryId(categoryId);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
     @GetMapping("/store/{storeId}")
     @Operation(summary = "Get products by store")
-    public ResponseEntity<ApiResponse<List<Product>>> getProductsByStore(
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getProductsByStore(
             @PathVariable Long storeId) {
-        List<Product> products = productService.findByStoreId(storeId);
+        List<ProductSummary> products = productService.findByStoreId(storeId);
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
     @GetMapping("/available")
     @Operation(summary = "Get available products")
-    public ResponseEntity<ApiResponse<List<Product>>> getAvailableProducts() {
-        List<Product> products = productService.findAvailableProducts();
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getAvailableProducts() {
+        List<ProductSummary> products = productService.findAvailableProducts();
         return ResponseEntity.ok(ApiResponse.success(products));
     }
 
+    @GetMapping("/inventory/striped")
+    @Operation(summary = "List products whose stock is striped across buckets because of update contention")
+    public ResponseEntity<ApiResponse<List<StripedProduct>>> getStripedProducts() {
+        return ResponseEntity.ok(ApiResponse.success(productService.getStripedProducts()));
+    }
+
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "application/octet-stream"})
+    @Operation(summary = "Bulk import products for a store from CSV or NDJSON, upserting by SKU")
+    public ResponseEntity<ApiResponse<ImportProgress>> importProducts(
+            @RequestParam Long storeId,
+            @RequestParam(defaultValue = "csv") String format,
+            InputStream body) throws IOException {
+        ImportProgress progress = productImportService.start(storeId, DataFormat.of(format), body);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success(progress, "Product import started"));
+    }
+
+    @GetMapping("/import/{importId}")
+    @Operation(summary = "Get progress and row errors of a product import")
+    public ResponseEntity<ApiResponse<ImportProgress>> getImportProgress(@PathVariable UUID importId) {
+        return productImportService.getProgress(importId)
+                .map(progress -> ResponseEntity.ok(ApiResponse.success(progress)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Import not found")));
+    }
+
+    @GetMapping("/available/export")
+    @Operation(summary = "Stream all available products as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportAvailableProducts(
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return exporter.export("products-available", DataFormat.of(format),
+                ProductSummary.class, productService::streamAvailableProducts);
+    }
+
     @PostMapping("/categories")
     @Operation(summary = "Create a new category")
     public ResponseEntity<ApiResponse<Category>> createCategory(@Valid @RequestBody Category category) {
@@ -112,6 +201,15 @@ public class ProductController {
                 .body(ApiResponse.success(created, "Category created successfully"));
     }
 
+    @PutMapping("/categories/{categoryId}/parent")
+    @Operation(summary = "Move a category and its subcategories under another parent, or to the root")
+    public ResponseEntity<ApiResponse<String>> moveCategory(
+            @PathVariable Long categoryId,
+            @RequestParam(required = false) Long parentId) {
+        productService.moveCategory(categoryId, parentId);
+        return ResponseEntity.ok(ApiResponse.success("Category moved successfully"));
+    }
+
     @GetMapping("/categories/root")
     @Operation(summary = "Get root categories")
     public ResponseEntity<ApiResponse<List<Category>>> getRootCategories() {
@@ -119,6 +217,21 @@ public class ProductController {
         return ResponseEntity.ok(ApiResponse.success(categories));
     }
 
+    @GetMapping("/categories/tree")
+    @Operation(summary = "Get the full category tree")
+    public ResponseEntity<ApiResponse<List<CategoryHierarchy.CategoryNode>>> getCategoryTree() {
+        return ResponseEntity.ok(ApiResponse.success(productService.getCategoryMenu()));
+    }
+
+    @GetMapping("/categories/{categoryId}/products")
+    @Operation(summary = "Get active products in a category and all its subcategories")
+    public ResponseEntity<ApiResponse<Page<ProductSummary>>> getProductsInCategorySubtree(
+            @PathVariable Long categoryId,
+            @Parameter(hidden = true) @PageableDefault(size = 20, sort = "price") Pageable pageable) {
+        Page<ProductSummary> products = productService.findProductsInCategorySubtree(categoryId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+
     @GetMapping("/categories/{parentId}/subcategories")
     @Operation(summary = "Get subcategories")
     public ResponseEntity<ApiResponse<List<Category>>> getSubCategories(@PathVariable Long parentId) {
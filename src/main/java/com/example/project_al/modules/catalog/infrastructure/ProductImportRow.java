@@ -0,0 +1,13 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import java.math.BigDecimal;
+
+public record ProductImportRow(String sku,
+                               String name,
+                               String description,
+                               BigDecimal price,
+                               Integer quantity,
+                               String imageUrl,
+                               String options,
+                               Long categoryId) {
+}
@@ -0,0 +1,109 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductImportWriter {
+
+    private static final String UPSERT =
+            "INSERT INTO products (sku, name, description, price, quantity, image_url, options, category_id, store_id, " +
+                    "is_active, average_rating, version, created_at, updated_at) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, true, 0, 0, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE name = VALUES(name), description = VALUES(description), " +
+                    "price = VALUES(price), quantity = VALUES(quantity), image_url = VALUES(image_url), " +
+                    "options = VALUES(options), category_id = VALUES(category_id), is_active = true, " +
+                    "version = COALESCE(version, 0) + 1, updated_at = VALUES(updated_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record ImportedProduct(Long id, ProductImportRow row, Integer version, boolean created, int quantityDelta) {
+    }
+
+    public record BatchResult(List<ImportedProduct> imported, List<ProductImportRow> rejected) {
+    }
+
+    private record ExistingProduct(Long id, Long storeId, int quantity) {
+    }
+
+    private record WrittenProduct(Long id, Integer version) {
+    }
+
+    public boolean storeExists(Long storeId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) > 0 FROM stores WHERE id = ?", Boolean.class, storeId));
+    }
+
+    // Rows whose SKU already belongs to another store are rejected rather than taken over
+    @Transactional
+    public BatchResult upsert(Long storeId, List<ProductImportRow> rows) {
+        if (rows.isEmpty()) {
+            return new BatchResult(List.of(), List.of());
+        }
+        Map<String, ExistingProduct> existing = findBySku(rows);
+        List<ProductImportRow> accepted = new ArrayList<>(rows.size());
+        List<ProductImportRow> rejected = new ArrayList<>();
+        for (ProductImportRow row : rows) {
+            ExistingProduct product = existing.get(row.sku());
+            if (product != null && !Objects.equals(product.storeId(), storeId)) {
+                rejected.add(row);
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return new BatchResult(List.of(), rejected);
+        }
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> args = new ArrayList<>(accepted.size());
+        for (ProductImportRow row : accepted) {
+            args.add(new Object[]{row.sku(), row.name(), row.description(), row.price(), row.quantity(),
+                    row.imageUrl(), row.options(), row.categoryId(), storeId, now, now});
+        }
+        jdbcTemplate.batchUpdate(UPSERT, args);
+
+        Map<String, WrittenProduct> written = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(accepted.size(), "?"));
+        jdbcTemplate.query("SELECT id, sku, version FROM products WHERE sku IN (" + placeholders + ")",
+                rs -> {
+                    written.put(rs.getString("sku"), new WrittenProduct(rs.getLong("id"), rs.getInt("version")));
+                },
+                accepted.stream().map(ProductImportRow::sku).toArray());
+
+        List<ImportedProduct> imported = new ArrayList<>(accepted.size());
+        for (ProductImportRow row : accepted) {
+            WrittenProduct product = written.get(row.sku());
+            ExistingProduct previous = existing.get(row.sku());
+            int delta = previous != null ? row.quantity() - previous.quantity() : row.quantity();
+            imported.add(new ImportedProduct(product.id(), row, product.version(), previous == null, delta));
+        }
+        return new BatchResult(imported, rejected);
+    }
+
+    // Locks the existing rows so the quantity delta is taken against the value the upsert overwrites
+    private Map<String, ExistingProduct> findBySku(List<ProductImportRow> rows) {
+        Map<String, ExistingProduct> existing = new HashMap<>();
+        String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+        jdbcTemplate.query("SELECT id, sku, store_id, quantity FROM products WHERE sku IN (" + placeholders + ") FOR UPDATE",
+                rs -> {
+                    long storeId = rs.getLong("store_id");
+                    existing.put(rs.getString("sku"), new ExistingProduct(rs.getLong("id"),
+                            rs.wasNull() ? null : storeId, rs.getInt("quantity")));
+                },
+                rows.stream().map(ProductImportRow::sku).toArray());
+        return existing;
+    }
+}
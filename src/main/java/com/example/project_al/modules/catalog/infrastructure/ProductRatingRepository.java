@@ -0,0 +1,73 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.domain.ProductRating;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ProductRatingRepository extends JpaRepository<ProductRating, Long> {
+
+    // MySQL applies the assignments left to right, so the average sees the updated sum and count
+    @Modifying
+    @Query(value = "UPDATE product_ratings SET rating_count = rating_count + :countDelta, " +
+            "rating_sum = rating_sum + :sumDelta, " +
+            "stars_1 = stars_1 + :stars1, stars_2 = stars_2 + :stars2, stars_3 = stars_3 + :stars3, " +
+            "stars_4 = stars_4 + :stars4, stars_5 = stars_5 + :stars5, " +
+            "average_rating = CASE WHEN rating_count > 0 THEN rating_sum / rating_count ELSE 0 END " +
+            "WHERE product_id = :productId", nativeQuery = true)
+    void applyDelta(@Param("productId") Long productId,
+                    @Param("countDelta") long countDelta,
+                    @Param("sumDelta") long sumDelta,
+                    @Param("stars1") long stars1,
+                    @Param("stars2") long stars2,
+                    @Param("stars3") long stars3,
+                    @Param("stars4") long stars4,
+                    @Param("stars5") long stars5);
+
+    // Creates the row of a product whose reviews predate the aggregates; returns 0 when it already exists
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO product_ratings (product_id, rating_count, rating_sum, " +
+            "stars_1, stars_2, stars_3, stars_4, stars_5, average_rating) " +
+            "SELECT :productId, COUNT(*), COALESCE(SUM(rating), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), 0), COALESCE(SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), 0), COALESCE(SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), 0), " +
+            "COALESCE(SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), 0), COALESCE(AVG(rating), 0) " +
+            "FROM reviews WHERE product_id = :productId", nativeQuery = true)
+    int seedFromReviews(@Param("productId") Long productId);
+
+    // Leaves products.version alone so rating changes never fail a concurrent product edit
+    @Modifying
+    @Query(value = "UPDATE products SET average_rating = " +
+            "(SELECT r.average_rating FROM product_ratings r WHERE r.product_id = :productId) WHERE id = :productId",
+            nativeQuery = true)
+    void copyAverageToProduct(@Param("productId") Long productId);
+
+    @Modifying
+    @Query(value = "INSERT INTO product_ratings (product_id, rating_count, rating_sum, " +
+            "stars_1, stars_2, stars_3, stars_4, stars_5, average_rating) " +
+            "SELECT product_id, COUNT(*), SUM(rating), " +
+            "SUM(CASE WHEN rating = 1 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 2 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 3 THEN 1 ELSE 0 END), SUM(CASE WHEN rating = 4 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN rating = 5 THEN 1 ELSE 0 END), AVG(rating) " +
+            "FROM reviews WHERE product_id IS NOT NULL GROUP BY product_id", nativeQuery = true)
+    int backfillFromReviews();
+
+    @Modifying
+    @Query(value = "UPDATE products p JOIN product_ratings r ON r.product_id = p.id " +
+            "SET p.average_rating = r.average_rating", nativeQuery = true)
+    int backfillProductAverages();
+
+    @Query(ProductRepository.SUMMARY + ", ProductRating r " +
+            "WHERE r.productId = p.id AND p.isActive = true AND r.ratingCount >= :minReviews " +
+            "AND p.category.id IN (SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId) " +
+            "ORDER BY r.averageRating DESC, r.ratingCount DESC, p.id")
+    List<ProductSummary> findTopRatedInCategory(@Param("categoryId") Long categoryId,
+                                                @Param("minReviews") long minReviews,
+                                                Pageable limit);
+}
@@ -1,43 +1,112 @@
 package com.example.project_al.modules.catalog.infrastructure;
 
 import com.example.project_al.modules.catalog.domain.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    String SUMMARY = "SELECT new com.example.project_al.modules.catalog.infrastructure.ProductSummary(" +
+            "p.id, p.name, p.price, p.quantity, p.sku, p.imageUrl, p.averageRating, p.isActive, p.category.id, p.store.id) " +
+            "FROM Product p ";
+
     Optional<Product> findBySku(String sku);
 
-    List<Product> findByCategoryId(Long categoryId);
+    @Query(SUMMARY + "WHERE p.category.id = :categoryId")
+    List<ProductSummary> findByCategoryId(@Param("categoryId") Long categoryId);
+
+    @Query(SUMMARY + "WHERE p.store.id = :storeId")
+    List<ProductSummary> findByStoreId(@Param("storeId") Long storeId);
+
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<ProductSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(value = SUMMARY + "WHERE p.name LIKE %:keyword% OR p.description LIKE %:keyword%",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.name LIKE %:keyword% OR p.description LIKE %:keyword%")
+    Page<ProductSummary> searchProducts(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query("SELECT new com.example.project_al.modules.catalog.infrastructure.ProductSearchDocument(p.id, p.name, p.description, p.sku) " +
+            "FROM Product p WHERE p.id > :afterId ORDER BY p.id")
+    List<ProductSearchDocument> findSearchDocuments(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE p.isActive = true AND p.id > :afterId ORDER BY p.id")
+    List<ProductSummary> findActiveSummariesAfter(@Param("afterId") Long afterId, Pageable pageable);
 
-    List<Product> findByStoreId(Long storeId);
+    // Used while the browse index is still loading; facets are not computed here
+    @Query(value = SUMMARY + "WHERE p.isActive = true " +
+            "AND (:minPrice IS NULL OR p.price >= :minPrice) AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+            "AND (:storeId IS NULL OR p.store.id = :storeId) AND (:inStockOnly = false OR p.quantity > 0) " +
+            "AND (:categoryId IS NULL OR p.category.id IN " +
+            "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId))",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true " +
+                    "AND (:minPrice IS NULL OR p.price >= :minPrice) AND (:maxPrice IS NULL OR p.price <= :maxPrice) " +
+                    "AND (:storeId IS NULL OR p.store.id = :storeId) AND (:inStockOnly = false OR p.quantity > 0) " +
+                    "AND (:categoryId IS NULL OR p.category.id IN " +
+                    "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId))")
+    Page<ProductSummary> findForBrowse(@Param("minPrice") BigDecimal minPrice,
+                                       @Param("maxPrice") BigDecimal maxPrice,
+                                       @Param("categoryId") Long categoryId,
+                                       @Param("storeId") Long storeId,
+                                       @Param("inStockOnly") boolean inStockOnly,
+                                       Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.name LIKE %:keyword% OR p.description LIKE %:keyword%")
-    Page<Product> searchProducts(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE p.price BETWEEN :minPrice AND :maxPrice",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
+    Page<ProductSummary> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
+                                          @Param("maxPrice") BigDecimal maxPrice,
+                                          Pageable pageable);
 
-    @Query("SELECT p FROM Product p WHERE p.price BETWEEN :minPrice AND :maxPrice")
-    Page<Product> findByPriceRange(@Param("minPrice") BigDecimal minPrice,
-                                   @Param("maxPrice") BigDecimal maxPrice,
-                                   Pageable pageable);
+    // Plain read: stock is guarded by the in-memory reservations, and a shared lock here would block
+    // the write-behind UPDATE of hot products. Items are priced from this snapshot.
+    @Query("SELECT p FROM Product p WHERE p.id IN :ids ORDER BY p.id")
+    List<Product> findAllForCheckout(@Param("ids") Collection<Long> ids);
 
-    @Query("SELECT p FROM Product p WHERE p.quantity > 0")
-    List<Product> findAvailableProducts();
+    @Query(SUMMARY + "WHERE p.price BETWEEN :minPrice AND :maxPrice " +
+            "AND (p.price > :afterPrice OR (p.price = :afterPrice AND p.id > :afterId)) ORDER BY p.price, p.id")
+    List<ProductSummary> findByPriceRangeAfter(@Param("minPrice") BigDecimal minPrice,
+                                               @Param("maxPrice") BigDecimal maxPrice,
+                                               @Param("afterPrice") BigDecimal afterPrice,
+                                               @Param("afterId") Long afterId,
+                                               Pageable limit);
 
-    @Query("SELECT p FROM Product p WHERE p.store.id = :storeId AND p.active = true")
+    long countByPriceBetween(BigDecimal minPrice, BigDecimal maxPrice);
+
+    @Query("SELECT p.quantity FROM Product p WHERE p.id = :id")
+    Optional<Integer> findQuantityById(@Param("id") Long id);
+
+    @Query(SUMMARY + "WHERE p.quantity > 0")
+    List<ProductSummary> findAvailableProducts();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY + "WHERE p.quantity > 0 ORDER BY p.id")
+    Stream<ProductSummary> streamAvailableProducts();
+
+    @Query("SELECT p FROM Product p WHERE p.store.id = :storeId AND p.isActive = true")
     List<Product> findActiveByStoreId(@Param("storeId") Long storeId);
 
-    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.active = true")
+    @Query("SELECT p FROM Product p WHERE p.category.id = :categoryId AND p.isActive = true")
     Page<Product> findActiveByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
 
+    @Query(value = SUMMARY + "WHERE p.isActive = true AND p.category.id IN " +
+            "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId)",
+            countQuery = "SELECT COUNT(p) FROM Product p WHERE p.isActive = true AND p.category.id IN " +
+                    "(SELECT c.descendantId FROM CategoryClosure c WHERE c.ancestorId = :categoryId)")
+    Page<ProductSummary> findActiveInCategorySubtree(@Param("categoryId") Long categoryId, Pageable pageable);
+
     @Query("SELECT p FROM Product p WHERE p.price <= :maxPrice AND p.quantity > 0")
     List<Product> findAffordableProducts(@Param("maxPrice") BigDecimal maxPrice);
 
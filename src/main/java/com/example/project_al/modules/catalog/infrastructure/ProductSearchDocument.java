@@ -0,0 +1,4 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+public record ProductSearchDocument(Long id, String name, String description, String sku) {
+}
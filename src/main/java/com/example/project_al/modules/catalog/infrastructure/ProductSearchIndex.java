@@ -0,0 +1,327 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over every product, ranked with BM25; like the LIKE query it replaces,
+ * it does not filter out inactive products. Every query token is matched as a prefix so results
+ * follow the user while typing.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    private static final int NAME_BOOST = 3;
+    private static final int LOAD_BATCH_SIZE = 5_000;
+    private static final long MAX_PINNED_HITS = 5_000_000;
+    private static final Duration PINNED_RANKING_TTL = Duration.ofMinutes(10);
+
+    private static final Comparator<Hit> RANKING = Comparator.<Hit>comparingDouble(Hit::score).reversed()
+            .thenComparingLong(Hit::id);
+
+    private final ProductRepository productRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings current = new Postings();
+    // Updates that arrive while rebuild() scans, replayed over the scan before it is swapped in
+    private Map<Long, ProductSearchDocument> pendingUpdates;
+    private volatile boolean ready;
+    private final Cache<UUID, PinnedRanking> rankings = Caffeine.newBuilder()
+            .maximumWeight(MAX_PINNED_HITS)
+            .weigher((UUID session, PinnedRanking ranking) -> ranking.ids().length)
+            .expireAfterAccess(PINNED_RANKING_TTL)
+            .build();
+
+    public record Hit(long id, double score) {
+    }
+
+    public record SearchResult(List<Hit> hits, long total) {
+
+        public List<Long> ids() {
+            return hits.stream().map(Hit::id).toList();
+        }
+    }
+
+    // A null session means every hit fit on this page, so nothing was pinned
+    public record RankedPage(UUID session, List<Long> ids, long total) {
+    }
+
+    private record IndexedDocument(String[] terms, int length) {
+    }
+
+    private record PinnedRanking(String query, long[] ids) {
+    }
+
+    private static final class Postings {
+        private final NavigableMap<String, Map<Long, Integer>> terms = new TreeMap<>();
+        private final Map<Long, IndexedDocument> documents = new HashMap<>();
+        private long totalLength;
+
+        void put(Long id, Map<String, Integer> frequencies, int length) {
+            remove(id);
+            frequencies.forEach((term, tf) -> terms.computeIfAbsent(term, t -> new HashMap<>()).put(id, tf));
+            documents.put(id, new IndexedDocument(frequencies.keySet().toArray(String[]::new), length));
+            totalLength += length;
+        }
+
+        void remove(Long id) {
+            IndexedDocument previous = documents.remove(id);
+            if (previous == null) {
+                return;
+            }
+            for (String term : previous.terms()) {
+                Map<Long, Integer> posting = terms.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        terms.remove(term);
+                    }
+                }
+            }
+            totalLength -= previous.length();
+        }
+    }
+
+    // Scans into fresh postings without the lock, so searches and after-commit updates never wait on the load
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingUpdates = new HashMap<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Postings rebuilt = new Postings();
+        boolean scanned = false;
+        try {
+            long afterId = 0L;
+            List<ProductSearchDocument> batch;
+            do {
+                batch = productRepository.findSearchDocuments(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+                for (ProductSearchDocument document : batch) {
+                    add(rebuilt, document);
+                    afterId = document.id();
+                }
+            } while (batch.size() == LOAD_BATCH_SIZE);
+            scanned = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                if (scanned) {
+                    pendingUpdates.forEach((id, document) -> apply(rebuilt, id, document));
+                    current = rebuilt;
+                }
+                pendingUpdates = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        ready = true;
+        log.info("Product search index built with {} documents in {} ms", size(), System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return current.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void index(Product product) {
+        index(new ProductSearchDocument(product.getId(), product.getName(), product.getDescription(), product.getSku()));
+    }
+
+    public void index(ProductSearchDocument document) {
+        update(document.id(), document);
+    }
+
+    public void remove(Long productId) {
+        update(productId, null);
+    }
+
+    // A null document removes the product
+    private void update(Long id, ProductSearchDocument document) {
+        lock.writeLock().lock();
+        try {
+            apply(current, id, document);
+            if (pendingUpdates != null) {
+                pendingUpdates.put(id, document);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void apply(Postings postings, Long id, ProductSearchDocument document) {
+        if (document == null) {
+            postings.remove(id);
+        } else {
+            add(postings, document);
+        }
+    }
+
+    private static void add(Postings postings, ProductSearchDocument document) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        tokenize(document.name()).forEach(term -> frequencies.merge(term, NAME_BOOST, Integer::sum));
+        tokenize(document.description()).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        tokenize(document.sku()).forEach(term -> frequencies.merge(term, NAME_BOOST, Integer::sum));
+        int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+        postings.put(document.id(), frequencies, length);
+    }
+
+    public SearchResult search(String query, long offset, int limit) {
+        List<String> tokens = tokenize(query).distinct().toList();
+        if (tokens.isEmpty() || limit <= 0) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(tokens);
+            int capacity = (int) Math.min(offset + limit, scores.size());
+            if (capacity <= offset) {
+                return new SearchResult(List.of(), scores.size());
+            }
+            List<Hit> ranked = top(scores, capacity);
+            return new SearchResult(ranked.subList((int) offset, ranked.size()), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // First page of a cursor search: ranks every hit once and pins that order when there is more than
+    // one page, so later pages follow it even after index updates shift the BM25 scores
+    public RankedPage rank(String query, int limit) {
+        List<String> tokens = tokenize(query).distinct().toList();
+        if (tokens.isEmpty() || limit <= 0) {
+            return new RankedPage(null, List.of(), 0);
+        }
+
+        long[] ids;
+        lock.readLock().lock();
+        try {
+            Map<Long, Double> scores = score(tokens);
+            ids = top(scores, scores.size()).stream().mapToLong(Hit::id).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+        UUID session = null;
+        if (ids.length >= limit) {
+            session = UUID.randomUUID();
+            rankings.put(session, new PinnedRanking(query, ids));
+        }
+        return slice(session, ids, 0, limit);
+    }
+
+    public RankedPage page(UUID session, String query, int position, int limit) {
+        PinnedRanking ranking = rankings.getIfPresent(session);
+        if (ranking == null) {
+            throw new RuntimeException("Search cursor expired, start the search again");
+        }
+        if (!ranking.query().equals(query)) {
+            throw new RuntimeException("Invalid cursor");
+        }
+        return slice(session, ranking.ids(), position, limit);
+    }
+
+    private static RankedPage slice(UUID session, long[] ids, int position, int limit) {
+        int from = Math.max(0, Math.min(position, ids.length));
+        int to = (int) Math.min((long) from + Math.max(limit, 0), ids.length);
+        return new RankedPage(session, Arrays.stream(ids, from, to).boxed().toList(), ids.length);
+    }
+
+    private List<Hit> top(Map<Long, Double> scores, int capacity) {
+        if (capacity <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Hit> top = new PriorityQueue<>(capacity, RANKING.reversed());
+        scores.forEach((id, score) -> {
+            Hit hit = new Hit(id, score);
+            if (top.size() < capacity) {
+                top.add(hit);
+            } else if (RANKING.compare(hit, top.peek()) < 0) {
+                top.poll();
+                top.add(hit);
+            }
+        });
+
+        List<Hit> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        return ranked;
+    }
+
+    // Conjunctive match: a document must contain every token or one of its prefix expansions. Every
+    // expansion is scored, so a short prefix never drops matching products or undercounts the total.
+    private Map<Long, Double> score(List<String> tokens) {
+        Postings postings = current;
+        int documentCount = postings.documents.size();
+        if (documentCount == 0) {
+            return Map.of();
+        }
+        double averageLength = (double) postings.totalLength / documentCount;
+
+        Map<Long, Double> accumulated = null;
+        for (String token : tokens) {
+            Map<Long, Double> previous = accumulated;
+            Map<Long, Double> tokenScores = new HashMap<>();
+            for (Map.Entry<String, Map<Long, Integer>> entry
+                    : postings.terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                Map<Long, Integer> posting = entry.getValue();
+                double weight = entry.getKey().equals(token) ? 1.0 : PREFIX_WEIGHT;
+                double idf = Math.log(1 + (documentCount - posting.size() + 0.5) / (posting.size() + 0.5));
+                posting.forEach((id, tf) -> {
+                    if (previous != null && !previous.containsKey(id)) {
+                        return;
+                    }
+                    double norm = tf + K1 * (1 - B + B * postings.documents.get(id).length() / averageLength);
+                    tokenScores.merge(id, weight * idf * tf * (K1 + 1) / norm, Double::sum);
+                });
+            }
+            if (tokenScores.isEmpty()) {
+                return Map.of();
+            }
+            if (previous != null) {
+                tokenScores.replaceAll((id, score) -> score + previous.get(id));
+            }
+            accumulated = tokenScores;
+        }
+        return accumulated;
+    }
+
+    static Stream<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return Stream.empty();
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(folded.split("[^\\p{L}\\p{N}]+"))
+                .filter(token -> !token.isEmpty());
+    }
+}
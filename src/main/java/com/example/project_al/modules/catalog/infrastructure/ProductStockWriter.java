@@ -0,0 +1,41 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Repository
+@RequiredArgsConstructor
+public class ProductStockWriter {
+
+    private static final String APPLY_DELTA =
+            "UPDATE products SET quantity = quantity + ?, version = COALESCE(version, 0) + 1 WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Returns the version each product row was bumped to
+    @Transactional
+    public Map<Long, Integer> applyDeltas(Map<Long, Integer> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        // Row locks are taken in id order so concurrent writers cannot deadlock
+        new TreeMap<>(deltas).forEach((productId, delta) -> rows.add(new Object[]{delta, productId}));
+        jdbcTemplate.batchUpdate(APPLY_DELTA, rows);
+
+        String placeholders = String.join(",", Collections.nCopies(deltas.size(), "?"));
+        Map<Long, Integer> versions = new HashMap<>();
+        jdbcTemplate.query("SELECT id, version FROM products WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    versions.put(rs.getLong("id"), rs.getInt("version"));
+                },
+                deltas.keySet().toArray());
+        return versions;
+    }
+}
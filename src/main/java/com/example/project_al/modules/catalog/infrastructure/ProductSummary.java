@@ -0,0 +1,17 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import java.math.BigDecimal;
+
+public record ProductSummary(
+        Long id,
+        String name,
+        BigDecimal price,
+        Integer quantity,
+        String sku,
+        String imageUrl,
+        Double averageRating,
+        Boolean isActive,
+        Long categoryId,
+        Long storeId
+) {
+}
@@ -0,0 +1,77 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.application.RatingStats;
+import com.example.project_al.modules.catalog.application.ReviewService;
+import com.example.project_al.modules.catalog.domain.Review;
+import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+@Tag(name = "Product Reviews", description = "APIs for product reviews and ratings")
+public class ReviewController {
+
+    private final ReviewService reviewService;
+
+    @PostMapping("/{productId}/reviews")
+    @Operation(summary = "Review a product")
+    public ResponseEntity<ApiResponse<ReviewSummary>> addReview(
+            @PathVariable Long productId,
+            @Valid @RequestBody Review review) {
+        ReviewSummary created = reviewService.addReview(productId, review);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(created, "Review created successfully"));
+    }
+
+    @PutMapping("/reviews/{reviewId}")
+    @Operation(summary = "Update a review")
+    public ResponseEntity<ApiResponse<ReviewSummary>> updateReview(
+            @PathVariable Long reviewId,
+            @Valid @RequestBody Review review) {
+        ReviewSummary updated = reviewService.updateReview(reviewId, review);
+        return ResponseEntity.ok(ApiResponse.success(updated, "Review updated successfully"));
+    }
+
+    @DeleteMapping("/reviews/{reviewId}")
+    @Operation(summary = "Delete a review")
+    public ResponseEntity<ApiResponse<String>> deleteReview(@PathVariable Long reviewId) {
+        reviewService.deleteReview(reviewId);
+        return ResponseEntity.ok(ApiResponse.success("Review deleted successfully"));
+    }
+
+    @GetMapping("/{productId}/reviews/cursor")
+    @Operation(summary = "Get the reviews of a product, newest first, with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<ReviewSummary>>> getProductReviews(
+            @PathVariable Long productId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<ReviewSummary> reviews = reviewService.getProductReviews(productId, cursor, CursorPage.limit(size));
+        return ResponseEntity.ok(ApiResponse.success(reviews));
+    }
+
+    @GetMapping("/{productId}/ratings")
+    @Operation(summary = "Get the review count, average and star histogram of a product")
+    public ResponseEntity<ApiResponse<RatingStats>> getRatingStats(@PathVariable Long productId) {
+        return ResponseEntity.ok(ApiResponse.success(reviewService.getRatingStats(productId)));
+    }
+
+    @GetMapping("/categories/{categoryId}/top-rated")
+    @Operation(summary = "Get the best rated products of a category and its subcategories")
+    public ResponseEntity<ApiResponse<List<ProductSummary>>> getTopRated(
+            @PathVariable Long categoryId,
+            @RequestParam(defaultValue = "5") long minReviews,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<ProductSummary> products = reviewService.findTopRatedInCategory(categoryId, minReviews, CursorPage.limit(limit));
+        return ResponseEntity.ok(ApiResponse.success(products));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.domain.Review;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewRepository extends JpaRepository<Review, Long> {
+
+    String SUMMARY = "SELECT new com.example.project_al.modules.catalog.infrastructure.ReviewSummary(" +
+            "r.id, r.rating, r.comment, r.reviewDate, r.product.id, r.user.id) " +
+            "FROM Review r ";
+
+    boolean existsByProductIdAndUserId(Long productId, Long userId);
+
+    @Query(SUMMARY + "WHERE r.product.id = :productId AND r.id < :beforeId ORDER BY r.id DESC")
+    List<ReviewSummary> findByProductIdBefore(@Param("productId") Long productId,
+                                              @Param("beforeId") Long beforeId,
+                                              Pageable limit);
+}
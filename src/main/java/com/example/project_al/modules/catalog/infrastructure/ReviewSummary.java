@@ -0,0 +1,21 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import com.example.project_al.modules.catalog.domain.Review;
+
+import java.time.LocalDateTime;
+
+public record ReviewSummary(
+        Long id,
+        Integer rating,
+        String comment,
+        LocalDateTime reviewDate,
+        Long productId,
+        Long userId
+) {
+
+    // Reads only the ids of the lazy associations, so the product and user proxies stay uninitialized
+    public static ReviewSummary from(Review review) {
+        return new ReviewSummary(review.getId(), review.getRating(), review.getComment(), review.getReviewDate(),
+                review.getProduct().getId(), review.getUser() != null ? review.getUser().getId() : null);
+    }
+}
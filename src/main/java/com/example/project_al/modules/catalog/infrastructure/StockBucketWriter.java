@@ -0,0 +1,155 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Stock of striped products, spread over product_stock_buckets rows so concurrent writers update
+ * different rows. Buckets are written with upserts, so a bucket row appears on its first change.
+ */
+@Repository
+@RequiredArgsConstructor
+public class StockBucketWriter {
+
+    private static final String ADD =
+            "INSERT INTO product_stock_buckets (product_id, bucket, quantity) VALUES (?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity)";
+    private static final String TAKE =
+            "UPDATE product_stock_buckets SET quantity = quantity - ? WHERE product_id = ? AND bucket = ? AND quantity >= ?";
+    private static final String LOCK_BUCKETS =
+            "SELECT bucket, quantity FROM product_stock_buckets WHERE product_id = ? ORDER BY bucket FOR UPDATE";
+    // Leaves the version alone: the copy is only for listings, and bumping it would fail open product edits
+    private static final String PUBLISH_TOTAL =
+            "UPDATE products SET quantity = ? WHERE id = ? AND quantity <> ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record StripedStock(Long productId, int buckets, int quantity) {
+    }
+
+    public List<StripedStock> findStriped() {
+        return jdbcTemplate.query(
+                "SELECT product_id, COUNT(*) AS buckets, SUM(quantity) AS quantity FROM product_stock_buckets GROUP BY product_id",
+                (rs, rowNum) -> new StripedStock(rs.getLong("product_id"), rs.getInt("buckets"), rs.getInt("quantity")));
+    }
+
+    public int total(Long productId) {
+        Integer total = jdbcTemplate.queryForObject(
+                "SELECT SUM(quantity) FROM product_stock_buckets WHERE product_id = ?", Integer.class, productId);
+        return total != null ? total : 0;
+    }
+
+    // Moves the product's current stock into its buckets; the product row lock keeps row writers out meanwhile,
+    // and the version bump sends writers that read the row before it to the buckets
+    @Transactional
+    public Integer stripe(Long productId, int buckets) {
+        Integer quantity = jdbcTemplate.queryForObject(
+                "SELECT quantity FROM products WHERE id = ? FOR UPDATE", Integer.class, productId);
+        if (quantity == null) {
+            throw new RuntimeException("Product not found");
+        }
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM product_stock_buckets WHERE product_id = ?", Integer.class, productId);
+        if (existing != null && existing > 0) {
+            return null;
+        }
+        jdbcTemplate.batchUpdate(ADD, split(productId, quantity, buckets));
+        return bumpVersion(productId);
+    }
+
+    // Unconditional: used for changes already checked against in-memory stock
+    @Transactional
+    public void add(Map<Long, Integer> deltas, int buckets) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        new TreeMap<>(deltas).forEach((productId, delta) ->
+                rows.add(new Object[]{productId, ThreadLocalRandom.current().nextInt(buckets), delta}));
+        jdbcTemplate.batchUpdate(ADD, rows);
+    }
+
+    // Takes from a single bucket that holds enough, starting at a random one, before locking them all
+    @Transactional
+    public void take(Long productId, int quantity, int buckets) {
+        int start = ThreadLocalRandom.current().nextInt(buckets);
+        for (int i = 0; i < buckets; i++) {
+            int bucket = (start + i) % buckets;
+            if (jdbcTemplate.update(TAKE, quantity, productId, bucket, quantity) == 1) {
+                return;
+            }
+        }
+        int remaining = quantity;
+        List<int[]> locked = lockBuckets(productId);
+        if (locked.stream().mapToInt(bucket -> bucket[1]).sum() < quantity) {
+            throw new RuntimeException("Insufficient stock for product: " + productId);
+        }
+        for (int[] bucket : locked) {
+            int taken = Math.min(remaining, bucket[1]);
+            if (taken > 0) {
+                jdbcTemplate.update(
+                        "UPDATE product_stock_buckets SET quantity = quantity - ? WHERE product_id = ? AND bucket = ?",
+                        taken, productId, bucket[0]);
+                remaining -= taken;
+            }
+        }
+    }
+
+    // Spreads the stock evenly again and copies the total to products.quantity for listings;
+    // returns whether the published total changed
+    @Transactional
+    public boolean rebalance(Long productId, int buckets) {
+        int total = lockBuckets(productId).stream().mapToInt(bucket -> bucket[1]).sum();
+        redistribute(productId, total, buckets);
+        return publish(productId, total);
+    }
+
+    // Sets the total stock when the caller writes the same quantity to the product row; returns the change
+    @Transactional
+    public int reset(Long productId, int total, int buckets) {
+        int previous = lockBuckets(productId).stream().mapToInt(bucket -> bucket[1]).sum();
+        redistribute(productId, total, buckets);
+        return total - previous;
+    }
+
+    // Folds the buckets back into products.quantity; returns whether the total changed
+    @Transactional
+    public boolean merge(Long productId) {
+        int total = lockBuckets(productId).stream().mapToInt(bucket -> bucket[1]).sum();
+        jdbcTemplate.update("DELETE FROM product_stock_buckets WHERE product_id = ?", productId);
+        return publish(productId, total);
+    }
+
+    private void redistribute(Long productId, int total, int buckets) {
+        jdbcTemplate.update("DELETE FROM product_stock_buckets WHERE product_id = ?", productId);
+        jdbcTemplate.batchUpdate(ADD, split(productId, total, buckets));
+    }
+
+    private boolean publish(Long productId, int total) {
+        return jdbcTemplate.update(PUBLISH_TOTAL, total, productId, total) > 0;
+    }
+
+    private List<int[]> lockBuckets(Long productId) {
+        return jdbcTemplate.query(LOCK_BUCKETS,
+                (rs, rowNum) -> new int[]{rs.getInt("bucket"), rs.getInt("quantity")}, productId);
+    }
+
+    private static List<Object[]> split(Long productId, int quantity, int buckets) {
+        List<Object[]> rows = new ArrayList<>(buckets);
+        for (int bucket = 0; bucket < buckets; bucket++) {
+            int share = quantity / buckets + (bucket < quantity % buckets ? 1 : 0);
+            rows.add(new Object[]{productId, bucket, share});
+        }
+        return rows;
+    }
+
+    private Integer bumpVersion(Long productId) {
+        jdbcTemplate.update("UPDATE products SET version = COALESCE(version, 0) + 1 WHERE id = ?", productId);
+        return jdbcTemplate.queryForObject("SELECT version FROM products WHERE id = ?", Integer.class, productId);
+    }
+}
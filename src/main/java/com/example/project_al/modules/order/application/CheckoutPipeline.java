@@ -0,0 +1,224 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderLine;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission-controlled checkout. Orders are queued by the lowest product id they contain, so all
+ * checkouts of a hot product land on the same worker and are placed one after another instead of
+ * competing for its stock. Each worker places what it has queued in small groups, one
+ * transaction per group. A full queue rejects the order immediately so the caller can answer 429.
+ * <p>
+ * Only the lowest product id is used: an order holding several products can still meet checkouts
+ * of its other products on other workers. Those still reserve stock with a CAS on the in-memory
+ * counters, so this costs throughput on mixed carts but never correctness.
+ * <p>
+ * Workers start with the application context and stop after the web server, so checkouts that
+ * were already accepted are placed before shutdown.
+ */
+@Slf4j
+@Component
+public class CheckoutPipeline implements SmartLifecycle {
+
+    // Lower phases start earlier and stop later than the web server
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final OrderService orderService;
+    private final List<BlockingQueue<Checkout>> partitions = new ArrayList<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final Cache<UUID, Checkout> checkouts;
+    private final Counter rejected;
+    private final int maxBatch;
+    private final Duration drainTimeout;
+    private volatile boolean running;
+
+    public CheckoutPipeline(OrderService orderService,
+                            MeterRegistry meterRegistry,
+                            @Value("${checkout.workers:8}") int workerCount,
+                            @Value("${checkout.queue-capacity:1000}") int queueCapacity,
+                            @Value("${checkout.max-batch:32}") int maxBatch,
+                            @Value("${checkout.ticket-retention:PT15M}") Duration ticketRetention,
+                            @Value("${checkout.drain-timeout:PT30S}") Duration drainTimeout) {
+        this.orderService = orderService;
+        this.maxBatch = maxBatch;
+        this.drainTimeout = drainTimeout;
+        this.checkouts = Caffeine.newBuilder()
+                .expireAfterWrite(ticketRetention)
+                .build();
+        this.rejected = Counter.builder("app.checkout.rejected")
+                .description("Checkouts refused because their queue was full")
+                .register(meterRegistry);
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<Checkout> queue = new ArrayBlockingQueue<>(queueCapacity);
+            partitions.add(queue);
+            Gauge.builder("app.checkout.queue.depth", queue, BlockingQueue::size)
+                    .tag("partition", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        for (int i = 0; i < partitions.size(); i++) {
+            BlockingQueue<Checkout> queue = partitions.get(i);
+            Thread worker = new Thread(() -> work(queue), "checkout-worker-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    // Stops admitting checkouts and lets the workers drain their queues; whatever is left after the timeout fails
+    @Override
+    public void stop() {
+        running = false;
+        long deadline = System.nanoTime() + drainTimeout.toNanos();
+        try {
+            for (Thread worker : workers) {
+                worker.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        workers.clear();
+        for (BlockingQueue<Checkout> queue : partitions) {
+            List<Checkout> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.forEach(checkout -> checkout.complete(checkout.ticket.failed("Checkout stopped before processing")));
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // Holds one checkout until a worker has placed or rejected it
+    private static final class Checkout {
+
+        private final Order order;
+        private final CompletableFuture<CheckoutTicket> result = new CompletableFuture<>();
+        private volatile CheckoutTicket ticket;
+
+        Checkout(Order order) {
+            this.order = order;
+            this.ticket = CheckoutTicket.queued(UUID.randomUUID());
+        }
+
+        void complete(CheckoutTicket outcome) {
+            ticket = outcome;
+            result.complete(outcome);
+        }
+    }
+
+    // Empty when the order's partition is full
+    public Optional<CheckoutTicket> submit(Order order) {
+        if (order.getOrderItems().isEmpty()) {
+            throw new RuntimeException("Order has no items");
+        }
+        Checkout checkout = new Checkout(order);
+        checkouts.put(checkout.ticket.id(), checkout);
+        if (!running || !partitions.get(partitionOf(order)).offer(checkout)) {
+            checkouts.invalidate(checkout.ticket.id());
+            rejected.increment();
+            return Optional.empty();
+        }
+        return Optional.of(checkout.ticket);
+    }
+
+    public Optional<CheckoutTicket> getTicket(UUID id) {
+        return Optional.ofNullable(checkouts.getIfPresent(id)).map(checkout -> checkout.ticket);
+    }
+
+    public Optional<CompletableFuture<CheckoutTicket>> awaitTicket(UUID id) {
+        return Optional.ofNullable(checkouts.getIfPresent(id)).map(checkout -> checkout.result);
+    }
+
+    // Lowest product id only; see the class comment for what that leaves to the stock counters
+    private int partitionOf(Order order) {
+        long productId = OrderLine.of(order).stream()
+                .mapToLong(OrderLine::productId)
+                .min()
+                .orElse(0L);
+        return (int) Math.floorMod(productId, (long) partitions.size());
+    }
+
+    private void work(BlockingQueue<Checkout> queue) {
+        List<Checkout> batch = new ArrayList<>(maxBatch);
+        while (running || !queue.isEmpty()) {
+            try {
+                Checkout first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                place(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Checkout worker failed", e);
+                batch.forEach(checkout -> checkout.complete(checkout.ticket.failed("Checkout failed")));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // One transaction for the whole group; if any order in it fails, the group is retried order by order
+    private void place(List<Checkout> batch) {
+        if (batch.size() > 1) {
+            try {
+                List<Order> placed = orderService.placeOrders(batch.stream().map(checkout -> checkout.order).toList());
+                for (int i = 0; i < batch.size(); i++) {
+                    batch.get(i).complete(batch.get(i).ticket.placed(placed.get(i).getId()));
+                }
+                return;
+            } catch (RuntimeException e) {
+                log.debug("Checkout group of {} failed, placing orders one by one", batch.size(), e);
+            }
+        }
+        for (Checkout checkout : batch) {
+            try {
+                resetIdentity(checkout.order);
+                Order placed = orderService.createOrder(checkout.order);
+                checkout.complete(checkout.ticket.placed(placed.getId()));
+            } catch (RuntimeException e) {
+                checkout.complete(checkout.ticket.failed(e.getMessage()));
+            }
+        }
+    }
+
+    // A rolled-back group may already have assigned identity ids; clear them so the retry inserts again
+    private static void resetIdentity(Order order) {
+        order.setId(null);
+        order.setVersion(null);
+        order.getOrderItems().forEach(item -> item.setId(null));
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.project_al.modules.order.application;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public record CheckoutTicket(
+        UUID id,
+        Status status,
+        Long orderId,
+        String error,
+        Instant queuedAt,
+        Instant completedAt
+) {
+
+    public enum Status {
+        QUEUED, PLACED, FAILED
+    }
+
+    public static CheckoutTicket queued(UUID id) {
+        return new CheckoutTicket(id, Status.QUEUED, null, null, Instant.now(), null);
+    }
+
+    public CheckoutTicket placed(Long orderId) {
+        return new CheckoutTicket(id, Status.PLACED, orderId, null, queuedAt, Instant.now());
+    }
+
+    public CheckoutTicket failed(String error) {
+        return new CheckoutTicket(id, Status.FAILED, null, error, queuedAt, Instant.now());
+    }
+
+    public boolean isDone() {
+        return status != Status.QUEUED;
+    }
+}
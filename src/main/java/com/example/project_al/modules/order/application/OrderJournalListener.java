@@ -0,0 +1,23 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.order.domain.OrderLifecycleEvent;
+import com.example.project_al.modules.order.domain.OrderShipped;
+import com.example.project_al.modules.order.infrastructure.OrderJournal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class OrderJournalListener {
+
+    private final OrderJournal orderJournal;
+
+    // A plain after-commit listener: a module listener would record its event publication in the database
+    @TransactionalEventListener(fallbackExecution = true)
+    public void on(OrderLifecycleEvent event) {
+        String detail = event instanceof OrderShipped shipped ? shipped.trackingNumber() : null;
+        orderJournal.append(new OrderJournal.Entry(event.orderId(), System.currentTimeMillis(),
+                event.previousStatus(), event.status(), detail));
+    }
+}
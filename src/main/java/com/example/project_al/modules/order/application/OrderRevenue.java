@@ -0,0 +1,45 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+// Revenue contributed by one delivered order, split the same way OrderStatistics aggregates it
+public record OrderRevenue(
+        LocalDate day,
+        BigDecimal total,
+        Map<Long, BigDecimal> byStore,
+        Map<Long, BigDecimal> byCategory
+) {
+
+    public static OrderRevenue of(Order order) {
+        Map<Long, BigDecimal> byStore = new HashMap<>();
+        Map<Long, BigDecimal> byCategory = new HashMap<>();
+        for (OrderItem item : order.getOrderItems()) {
+            Product product = item.getProduct();
+            BigDecimal subtotal = item.getSubtotal() != null ? item.getSubtotal() : BigDecimal.ZERO;
+            if (product.getStore() != null) {
+                byStore.merge(product.getStore().getId(), subtotal, BigDecimal::add);
+            }
+            if (product.getCategory() != null) {
+                byCategory.merge(product.getCategory().getId(), subtotal, BigDecimal::add);
+            }
+        }
+        BigDecimal total = order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+        LocalDate day = order.getDateTimestamp() != null ? order.getDateTimestamp().toLocalDate() : null;
+        return new OrderRevenue(day, total, Map.copyOf(byStore), Map.copyOf(byCategory));
+    }
+
+    public OrderRevenue negate() {
+        Map<Long, BigDecimal> stores = new HashMap<>();
+        byStore.forEach((id, amount) -> stores.put(id, amount.negate()));
+        Map<Long, BigDecimal> categories = new HashMap<>();
+        byCategory.forEach((id, amount) -> categories.put(id, amount.negate()));
+        return new OrderRevenue(day, total.negate(), stores, categories);
+    }
+}
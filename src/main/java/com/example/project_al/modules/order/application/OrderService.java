@@ -1,74 +1,154 @@
 package com.example.project_al.modules.order.application;
 
+import com.example.project_al.modules.catalog.application.InventoryService;
 import com.example.project_al.modules.catalog.application.ProductService;
 import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.catalog.domain.StockReservation;
 import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderCancelled;
+import com.example.project_al.modules.order.domain.OrderConfirmed;
+import com.example.project_al.modules.order.domain.OrderDelivered;
 import com.example.project_al.modules.order.domain.OrderItem;
+import com.example.project_al.modules.order.domain.OrderLifecycleEvent;
+import com.example.project_al.modules.order.domain.OrderLine;
+import com.example.project_al.modules.order.domain.OrderPaid;
+import com.example.project_al.modules.order.domain.OrderPlaced;
+import com.example.project_al.modules.order.domain.OrderShipped;
 import com.example.project_al.modules.order.domain.OrderStatus;
+import com.example.project_al.modules.order.infrastructure.OrderJournal;
 import com.example.project_al.modules.order.infrastructure.OrderRepository;
+import com.example.project_al.modules.order.infrastructure.OrderSummary;
+import com.example.project_al.modules.stores.domain.Store;
 import com.example.project_al.modules.user.domain.Buyer;
 import com.example.project_al.modules.user.infrastructure.UserRepository;
+import com.example.project_al.shared.kernel.AfterCommit;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class OrderService {
 
+    // Upper bound for the first page of a newest-first keyset scan; fits a MySQL DATETIME
+    private static final LocalDateTime KEYSET_START = LocalDateTime.of(9999, 12, 31, 0, 0);
+
     private final OrderRepository orderRepository;
     private final UserRepository userRepository;
     private final ProductService productService;
+    private final InventoryService inventoryService;
+    private final OrderStatistics orderStatistics;
+    private final ApplicationEventPublisher events;
+    private final OrderJournal orderJournal;
 
     public Order createOrder(Order order) {
-        // Validate buyer
-        if (!(order.getBuyer() instanceof Buyer)) {
-            throw new RuntimeException("Only buyers can create orders");
+        return placeOrders(List.of(order)).get(0);
+    }
+
+    // Loads every referenced product in one locking query and saves all orders in one flush
+    public List<Order> placeOrders(List<Order> orders) {
+        for (Order order : orders) {
+            // Validate buyer
+            if (!(order.getBuyer() instanceof Buyer)) {
+                throw new RuntimeException("Only buyers can create orders");
+            }
         }
 
-        // Validate and reserve product quantities
-        for (OrderItem item : order.getOrderItems()) {
-            Product product = item.getProduct();
-            if (product.getQuantity() < item.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for product: " + product.getName());
+        Set<Long> productIds = orders.stream()
+                .flatMap(order -> order.getOrderItems().stream())
+                .map(item -> item.getProduct().getId())
+                .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Product> products = productService.findAllForCheckout(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        // Reserve stock in memory; it is written back to the products table after commit
+        List<StockReservation> reservations = new ArrayList<>();
+        try {
+            for (Order order : orders) {
+                for (OrderItem item : order.getOrderItems()) {
+                    Product product = products.get(item.getProduct().getId());
+                    if (product == null || Boolean.FALSE.equals(product.getIsActive())) {
+                        throw new RuntimeException("Product not available: " + item.getProduct().getId());
+                    }
+                    reservations.add(inventoryService.reserve(product.getId(), item.getQuantity()));
+                    item.setProduct(product);
+                    item.setOrder(order);
+                    item.setUnitPrice(product.getPrice());
+                    item.calculateSubtotal();
+                }
             }
-            product.reduceQuantity(item.getQuantity());
-            item.setUnitPrice(product.getPrice());
-            item.calculateSubtotal();
+        } catch (RuntimeException e) {
+            reservations.forEach(inventoryService::release);
+            throw e;
         }
+        inventoryService.confirmOnCommit(reservations);
 
-        order.order();
-        return orderRepository.save(order);
+        orders.forEach(Order::order);
+        List<Order> saved = orderRepository.saveAll(orders);
+        saved.forEach(order -> events.publishEvent(
+                new OrderPlaced(order.getId(), order.getBuyer().getId(), OrderLine.of(order), storeIds(order))));
+        return saved;
     }
 
     public Optional<Order> findById(Long id) {
         return orderRepository.findById(id);
     }
 
-    public List<Order> findByBuyerId(Long buyerId) {
+    public List<OrderSummary> findByBuyerId(Long buyerId) {
         return orderRepository.findByBuyerId(buyerId);
     }
 
-    public Page<Order> findByBuyerIdPaged(Long buyerId, Pageable pageable) {
+    public Page<OrderSummary> findByBuyerIdPaged(Long buyerId, Pageable pageable) {
         return orderRepository.findByBuyerIdOrderByDateDesc(buyerId, pageable);
     }
 
-    public List<Order> findByStatus(OrderStatus status) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> findByBuyerId(Long buyerId, String cursor, int size, boolean count) {
+        KeysetCursor before = cursor != null ? KeysetCursor.decode(cursor) : null;
+        LocalDateTime beforeDate = before != null ? LocalDateTime.parse(before.key()) : KEYSET_START;
+        Long beforeId = before != null ? before.id() : Long.MAX_VALUE;
+
+        List<OrderSummary> rows = orderRepository.findByBuyerIdBefore(buyerId, beforeDate, beforeId, PageRequest.of(0, size + 1));
+        Long total = count ? orderRepository.countByBuyerId(buyerId) : null;
+        return CursorPage.of(rows, size, order -> KeysetCursor.of(order.dateTimestamp(), order.id()), total);
+    }
+
+    public List<OrderSummary> findByStatus(OrderStatus status) {
         return orderRepository.findByStatus(status);
     }
 
+    // Must be consumed and closed inside the caller's transaction
+    @Transactional(readOnly = true)
+    public Stream<OrderSummary> streamByStatus(OrderStatus status) {
+        return orderRepository.streamByStatus(status);
+    }
+
     public Order updateOrderStatus(Long orderId, OrderStatus status) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
+        OrderStatus previous = order.getStatus();
 
         switch (status) {
             case CONFIRMED -> order.confirm();
@@ -79,20 +159,37 @@ public class OrderService {
             default -> throw new RuntimeException("Invalid status transition");
         }
 
-        return orderRepository.save(order);
+        Order saved = orderRepository.save(order);
+        // Domain transitions are no-ops when not allowed, so only publish when the status moved
+        if (saved.getStatus() != previous) {
+            events.publishEvent(transition(saved, previous));
+        }
+        return saved;
+    }
+
+    // Read from the order journal; the orders table only keeps the current status
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<OrderTimelineEntry> getTimeline(Long orderId) {
+        return orderJournal.replay(orderId).stream()
+                .filter(entry -> !entry.isRemoval())
+                .map(OrderTimelineEntry::of)
+                .toList();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Optional<List<OrderTimelineEntry>> getTimelineByTrackingNumber(String trackingNumber) {
+        return orderRepository.findIdsByTrackingNumber(trackingNumber, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .map(this::getTimeline);
     }
 
     public Order addOrderItem(Long orderId, OrderItem item) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
-        // Validate product availability
         Product product = item.getProduct();
-        if (product.getQuantity() < item.getQuantity()) {
-            throw new RuntimeException("Insufficient stock for product: " + product.getName());
-        }
-
-        product.reduceQuantity(item.getQuantity());
+        StockReservation reservation = inventoryService.reserve(product.getId(), item.getQuantity());
+        inventoryService.confirmOnCommit(List.of(reservation));
         item.setUnitPrice(product.getPrice());
         item.setOrder(order);
 
@@ -110,29 +207,66 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Order item not found"));
 
         // Restore product quantity
-        item.getProduct().increaseQuantity(item.getQuantity());
+        restockOnCommit(List.of(item));
 
         order.removeOrderItem(item);
         return orderRepository.save(order);
     }
 
-    public List<Order> findRecentOrders(LocalDateTime startDate) {
+    public List<OrderSummary> findRecentOrders(LocalDateTime startDate) {
         return orderRepository.findRecentOrders(startDate);
     }
 
+    @Transactional(readOnly = true)
+    public Stream<OrderSummary> streamRecentOrders(LocalDateTime startDate) {
+        return orderRepository.streamRecentOrders(startDate);
+    }
+
     public BigDecimal getTotalRevenue() {
+        if (orderStatistics.isReady()) {
+            return orderStatistics.totalRevenue();
+        }
         return orderRepository.getTotalRevenue();
     }
 
     public Long countByStatus(OrderStatus status) {
+        if (orderStatistics.isReady()) {
+            return orderStatistics.countByStatus(status);
+        }
         return orderRepository.countByStatus(status);
     }
 
-    public Page<Order> findOrdersAboveAmount(Double minAmount, Pageable pageable) {
+    public OrderStatistics.Snapshot getStatistics(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Start date must not be after end date");
+        }
+        return orderStatistics.snapshot(from, to);
+    }
+
+    public BigDecimal getStoreRevenue(Long storeId) {
+        return orderStatistics.revenueForStore(storeId);
+    }
+
+    public BigDecimal getCategoryRevenue(Long categoryId) {
+        return orderStatistics.revenueForCategory(categoryId);
+    }
+
+    public Page<OrderSummary> findOrdersAboveAmount(Double minAmount, Pageable pageable) {
         return orderRepository.findOrdersAboveAmount(minAmount, pageable);
     }
 
-    public List<Order> findByIdUnderlist(String idUnderlist) {
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> findOrdersAboveAmount(BigDecimal minAmount, String cursor, int size, boolean count) {
+        KeysetCursor after = cursor != null ? KeysetCursor.decode(cursor) : null;
+        BigDecimal afterAmount = after != null ? new BigDecimal(after.key()) : minAmount;
+        Long afterId = after != null ? after.id() : 0L;
+
+        List<OrderSummary> rows = orderRepository.findOrdersAboveAmountAfter(minAmount, afterAmount, afterId, PageRequest.of(0, size + 1));
+        Long total = count ? orderRepository.countByTotalAmountGreaterThan(minAmount) : null;
+        return CursorPage.of(rows, size, order -> KeysetCursor.of(order.totalAmount(), order.id()), total);
+    }
+
+    public List<OrderSummary> findByIdUnderlist(String idUnderlist) {
         return orderRepository.findByIdUnderlist(idUnderlist);
     }
 
@@ -141,10 +275,42 @@ public class OrderService {
                 .orElseThrow(() -> new RuntimeException("Order not found"));
 
         // Restore all product quantities
-        order.getOrderItems().forEach(item -> {
-            item.getProduct().increaseQuantity(item.getQuantity());
-        });
+        restockOnCommit(order.getOrderItems());
 
+        OrderStatus status = order.getStatus();
+        OrderRevenue revenue = status == OrderStatus.DELIVERED ? OrderRevenue.of(order) : null;
         orderRepository.delete(order);
+        AfterCommit.run(() -> {
+            orderJournal.append(OrderJournal.Entry.removed(id, System.currentTimeMillis(), status));
+            orderStatistics.recordRemoval(status);
+            if (revenue != null) {
+                orderStatistics.subtractRevenue(revenue);
+            }
+        });
+    }
+
+    private OrderLifecycleEvent transition(Order order, OrderStatus previous) {
+        return switch (order.getStatus()) {
+            case CONFIRMED -> new OrderConfirmed(order.getId(), storeIds(order));
+            case PROCESSING -> new OrderPaid(order.getId(), previous);
+            case SHIPPED -> new OrderShipped(order.getId(), order.getBuyer().getId(), order.getTrackingNumber());
+            case DELIVERED -> new OrderDelivered(order.getId());
+            case CANCELLED -> new OrderCancelled(order.getId(), order.getBuyer().getId(), previous, OrderLine.of(order));
+            default -> throw new RuntimeException("Invalid status transition");
+        };
+    }
+
+    private static Set<Long> storeIds(Order order) {
+        return order.getOrderItems().stream()
+                .map(item -> item.getProduct().getStore())
+                .filter(Objects::nonNull)
+                .map(Store::getId)
+                .collect(Collectors.toCollection(TreeSet::new));
+    }
+
+    private void restockOnCommit(List<OrderItem> items) {
+        List<OrderItem> restocked = List.copyOf(items);
+        AfterCommit.run(() -> restocked.forEach(item ->
+                inventoryService.restock(item.getProduct().getId(), item.getQuantity())));
     }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.order.domain.OrderDelivered;
+import com.example.project_al.modules.order.domain.OrderLifecycleEvent;
+import com.example.project_al.modules.order.domain.OrderStatus;
+import com.example.project_al.modules.order.infrastructure.OrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order counts per status and delivered revenue per day, store and category, so reads never
+ * scan the orders table. Updated asynchronously from {@link OrderLifecycleEvent}s, skipping events
+ * already applied for the same order and status, and recounted from grouped queries at startup and
+ * then periodically. A transition that commits while a recount runs can be missed or counted twice,
+ * but only until the next recount.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderStatistics {
+
+    private final OrderRepository orderRepository;
+
+    private final Cache<Transition, Boolean> applied = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+    private volatile Totals totals = new Totals();
+    private volatile boolean ready;
+
+    public record Snapshot(
+            Map<OrderStatus, Long> countsByStatus,
+            BigDecimal totalRevenue,
+            Map<LocalDate, BigDecimal> revenueByDay
+    ) {
+    }
+
+    private record Transition(Long orderId, OrderStatus status) {
+    }
+
+    private static final class Totals {
+        private final Map<OrderStatus, LongAdder> countsByStatus = newStatusCounters();
+        private final AtomicReference<BigDecimal> totalRevenue = new AtomicReference<>(BigDecimal.ZERO);
+        private final ConcurrentNavigableMap<LocalDate, BigDecimal> revenueByDay = new ConcurrentSkipListMap<>();
+        private final ConcurrentMap<Long, BigDecimal> revenueByStore = new ConcurrentHashMap<>();
+        private final ConcurrentMap<Long, BigDecimal> revenueByCategory = new ConcurrentHashMap<>();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        recount();
+        ready = true;
+        log.info("Order statistics loaded: {} days of revenue, {} stores",
+                totals.revenueByDay.size(), totals.revenueByStore.size());
+    }
+
+    @Scheduled(fixedDelayString = "${order.statistics.recount-interval-ms:600000}",
+            initialDelayString = "${order.statistics.recount-interval-ms:600000}")
+    public void reconcile() {
+        if (ready) {
+            recount();
+        }
+    }
+
+    @ApplicationModuleListener
+    public void on(OrderLifecycleEvent event) {
+        if (applied.asMap().putIfAbsent(new Transition(event.orderId(), event.status()), Boolean.TRUE) != null) {
+            log.debug("Skipping repeated {} of order {}", event.status(), event.orderId());
+            return;
+        }
+        recordTransition(event.previousStatus(), event.status());
+        if (event instanceof OrderDelivered delivered) {
+            orderRepository.findById(delivered.orderId())
+                    .map(OrderRevenue::of)
+                    .ifPresent(this::addRevenue);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // A null source status means the order was just created
+    public void recordTransition(OrderStatus from, OrderStatus to) {
+        if (!ready) {
+            return;
+        }
+        Totals current = totals;
+        if (from != null) {
+            current.countsByStatus.get(from).decrement();
+        }
+        current.countsByStatus.get(to).increment();
+    }
+
+    public void recordRemoval(OrderStatus status) {
+        if (ready && status != null) {
+            totals.countsByStatus.get(status).decrement();
+        }
+    }
+
+    public void addRevenue(OrderRevenue revenue) {
+        if (ready) {
+            add(totals, revenue);
+        }
+    }
+
+    public void subtractRevenue(OrderRevenue revenue) {
+        addRevenue(revenue.negate());
+    }
+
+    public long countByStatus(OrderStatus status) {
+        return totals.countsByStatus.get(status).sum();
+    }
+
+    public BigDecimal totalRevenue() {
+        return totals.totalRevenue.get();
+    }
+
+    public BigDecimal revenueForStore(Long storeId) {
+        return totals.revenueByStore.getOrDefault(storeId, BigDecimal.ZERO);
+    }
+
+    public BigDecimal revenueForCategory(Long categoryId) {
+        return totals.revenueByCategory.getOrDefault(categoryId, BigDecimal.ZERO);
+    }
+
+    public Snapshot snapshot(LocalDate from, LocalDate to) {
+        Totals current = totals;
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        current.countsByStatus.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Snapshot(counts, current.totalRevenue.get(),
+                new TreeMap<>(current.revenueByDay.subMap(from, true, to, true)));
+    }
+
+    // Builds fresh totals from the database and swaps them in whole, so readers never see a partial recount
+    private void recount() {
+        Totals fresh = new Totals();
+        orderRepository.countGroupedByStatus().forEach(row -> {
+            if (row.status() != null) {
+                fresh.countsByStatus.get(row.status()).add(row.count());
+            }
+        });
+        orderRepository.sumDeliveredRevenueByDay().forEach(row -> {
+            if (row.day() != null) {
+                fresh.revenueByDay.merge(row.day(), row.amount(), BigDecimal::add);
+            }
+            fresh.totalRevenue.accumulateAndGet(row.amount(), BigDecimal::add);
+        });
+        orderRepository.sumDeliveredRevenueByStore().forEach(row -> fresh.revenueByStore.put(row.key(), row.amount()));
+        orderRepository.sumDeliveredRevenueByCategory().forEach(row -> fresh.revenueByCategory.put(row.key(), row.amount()));
+        totals = fresh;
+    }
+
+    private static void add(Totals totals, OrderRevenue revenue) {
+        totals.totalRevenue.accumulateAndGet(revenue.total(), BigDecimal::add);
+        if (revenue.day() != null) {
+            totals.revenueByDay.merge(revenue.day(), revenue.total(), BigDecimal::add);
+        }
+        revenue.byStore().forEach((storeId, amount) -> totals.revenueByStore.merge(storeId, amount, BigDecimal::add));
+        revenue.byCategory().forEach((categoryId, amount) -> totals.revenueByCategory.merge(categoryId, amount, BigDecimal::add));
+    }
+
+    private static Map<OrderStatus, LongAdder> newStatusCounters() {
+        Map<OrderStatus, LongAdder> counters = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : OrderStatus.values()) {
+            counters.put(status, new LongAdder());
+        }
+        return counters;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.order.domain.OrderStatus;
+import com.example.project_al.modules.order.infrastructure.OrderJournal;
+
+import java.time.Instant;
+
+public record OrderTimelineEntry(Long orderId, OrderStatus previousStatus, OrderStatus status, String detail, Instant timestamp) {
+
+    static OrderTimelineEntry of(OrderJournal.Entry entry) {
+        return new OrderTimelineEntry(entry.orderId(), entry.previousStatus(), entry.status(), entry.detail(),
+                Instant.ofEpochMilli(entry.timestamp()));
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.project_al.modules.order.domain;
 
 import com.example.project_al.modules.user.domain.Buyer;
-import com.example.project_al.shared.kernel.BaseEntity;
+import com.example.project_al.shared.kernel.AuditedEntity;
+import com.example.project_al.shared.kernel.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -11,13 +12,30 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_buyer_date", columnList = "buyer_id, date_timestamp, id"),
+        @Index(name = "idx_orders_total_amount", columnList = "total_amount, id"),
+        @Index(name = "idx_orders_tracking_number", columnList = "tracking_number")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Order extends BaseEntity {
+public class Order extends AuditedEntity {
+
+    // Pooled like OrderItem ids, so bulk placement batches the order inserts as well
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_ids")
+    @TableGenerator(
+            name = "order_ids",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "orders",
+            allocationSize = 50
+    )
+    private Long id;
 
     @Column(name = "id_underlist")
     private String idUnderlist;
@@ -39,8 +57,11 @@ public class Order extends BaseEntity {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<OrderItem> orderItems = new ArrayList<>();
 
-    @Column(name = "total_amount", precision = 10, scale = 2)
-    private BigDecimal totalAmount = BigDecimal.ZERO;
+    // Kept in cents and updated per item; total_amount is read through getTotalAmount()
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long totalMinor;
 
     @Column(name = "shipping_address")
     private String shippingAddress;
@@ -69,10 +90,6 @@ public class Order extends BaseEntity {
     public void cancel() {
         if (this.status.canCancel()) {
             this.status = OrderStatus.CANCELLED;
-            // Restore product quantities
-            orderItems.forEach(item -> {
-                item.getProduct().increaseQuantity(item.getQuantity());
-            });
         } else {
             throw new RuntimeException("Order cannot be cancelled in current status: " + status);
         }
@@ -106,21 +123,40 @@ public class Order extends BaseEntity {
         }
     }
 
+    @Access(AccessType.PROPERTY)
+    @Column(name = "total_amount", precision = 10, scale = 2)
+    public BigDecimal getTotalAmount() {
+        return Money.toDecimal(totalMinor);
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        totalMinor = totalAmount != null ? Money.toMinor(totalAmount) : 0L;
+    }
+
+    public long totalMinor() {
+        return totalMinor;
+    }
+
+    // Full pass for items that were set directly, e.g. by JSON binding, rather than added one by one
     private void calculateTotal() {
-        this.totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long total = 0L;
+        for (OrderItem item : orderItems) {
+            total = Money.plus(total, item.subtotalMinor());
+        }
+        totalMinor = total;
     }
 
     public void addOrderItem(OrderItem item) {
+        item.calculateSubtotal();
         item.setOrder(this);
         orderItems.add(item);
-        calculateTotal();
+        totalMinor = Money.plus(totalMinor, item.subtotalMinor());
     }
 
     public void removeOrderItem(OrderItem item) {
-        orderItems.remove(item);
+        if (orderItems.remove(item)) {
+            totalMinor = Money.minus(totalMinor, item.subtotalMinor());
+        }
         item.setOrder(null);
-        calculateTotal();
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.example.project_al.modules.order.domain;
+
+import java.util.List;
+
+public record OrderCancelled(Long orderId, Long buyerId, OrderStatus previousStatus, List<OrderLine> lines)
+        implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.project_al.modules.order.domain;
+
+import java.util.Set;
+
+public record OrderConfirmed(Long orderId, Set<Long> storeIds) implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus previousStatus() {
+        return OrderStatus.PLACED;
+    }
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.CONFIRMED;
+    }
+}
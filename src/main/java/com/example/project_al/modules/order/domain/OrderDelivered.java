@@ -0,0 +1,14 @@
+package com.example.project_al.modules.order.domain;
+
+public record OrderDelivered(Long orderId) implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus previousStatus() {
+        return OrderStatus.SHIPPED;
+    }
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.DELIVERED;
+    }
+}
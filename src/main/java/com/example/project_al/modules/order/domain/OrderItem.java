@@ -1,6 +1,7 @@
 package com.example.project_al.modules.order.domain;
 
 import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.shared.kernel.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -15,8 +16,17 @@ import java.math.BigDecimal;
 @Builder
 public class OrderItem {
 
+    // Pooled table ids let Hibernate batch item inserts, which IDENTITY columns prevent
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "order_item_ids")
+    @TableGenerator(
+            name = "order_item_ids",
+            table = "id_generators",
+            pkColumnName = "sequence_name",
+            valueColumnName = "next_val",
+            pkColumnValue = "order_items",
+            allocationSize = 50
+    )
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,17 +40,63 @@ public class OrderItem {
     @Column(name = "quantity")
     private Integer quantity;
 
+    // Prices are kept in cents; the BigDecimal properties below are only read when mapping to columns or JSON
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long unitPriceMinor;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private long subtotalMinor;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean priced;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean subtotaled;
+
+    @Access(AccessType.PROPERTY)
     @Column(name = "unit_price", precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    public BigDecimal getUnitPrice() {
+        return priced ? Money.toDecimal(unitPriceMinor) : null;
+    }
+
+    public void setUnitPrice(BigDecimal unitPrice) {
+        priced = unitPrice != null;
+        unitPriceMinor = priced ? Money.toMinor(unitPrice) : 0L;
+    }
 
+    @Access(AccessType.PROPERTY)
     @Column(name = "subtotal", precision = 10, scale = 2)
-    private BigDecimal subtotal;
+    public BigDecimal getSubtotal() {
+        return subtotaled ? Money.toDecimal(subtotalMinor) : null;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        subtotaled = subtotal != null;
+        subtotalMinor = subtotaled ? Money.toMinor(subtotal) : 0L;
+    }
+
+    public long unitPriceMinor() {
+        return unitPriceMinor;
+    }
+
+    public long subtotalMinor() {
+        return subtotalMinor;
+    }
 
     @PrePersist
     @PreUpdate
     public void calculateSubtotal() {
-        if (unitPrice != null && quantity != null) {
-            subtotal = unitPrice.multiply(BigDecimal.valueOf(quantity));
+        if (priced && quantity != null) {
+            subtotalMinor = Money.times(unitPriceMinor, quantity);
+            subtotaled = true;
         }
     }
 }
\ No newline at end of file
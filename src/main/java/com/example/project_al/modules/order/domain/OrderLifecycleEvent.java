@@ -0,0 +1,12 @@
+package com.example.project_al.modules.order.domain;
+
+// Published on every order state transition; a null previous status means the order was just placed
+public sealed interface OrderLifecycleEvent
+        permits OrderPlaced, OrderConfirmed, OrderPaid, OrderShipped, OrderDelivered, OrderCancelled {
+
+    Long orderId();
+
+    OrderStatus previousStatus();
+
+    OrderStatus status();
+}
@@ -0,0 +1,12 @@
+package com.example.project_al.modules.order.domain;
+
+import java.util.List;
+
+public record OrderLine(Long productId, int quantity) {
+
+    public static List<OrderLine> of(Order order) {
+        return order.getOrderItems().stream()
+                .map(item -> new OrderLine(item.getProduct().getId(), item.getQuantity()))
+                .toList();
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.project_al.modules.order.domain;
+
+public record OrderPaid(Long orderId, OrderStatus previousStatus) implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.PROCESSING;
+    }
+}
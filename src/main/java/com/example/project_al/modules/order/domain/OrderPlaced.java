@@ -0,0 +1,18 @@
+package com.example.project_al.modules.order.domain;
+
+import java.util.List;
+import java.util.Set;
+
+public record OrderPlaced(Long orderId, Long buyerId, List<OrderLine> lines, Set<Long> storeIds)
+        implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus previousStatus() {
+        return null;
+    }
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.PLACED;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.project_al.modules.order.domain;
+
+public record OrderShipped(Long orderId, Long buyerId, String trackingNumber) implements OrderLifecycleEvent {
+
+    @Override
+    public OrderStatus previousStatus() {
+        return OrderStatus.CONFIRMED;
+    }
+
+    @Override
+    public OrderStatus status() {
+        return OrderStatus.SHIPPED;
+    }
+}
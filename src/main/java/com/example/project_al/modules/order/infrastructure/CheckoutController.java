@@ -0,0 +1,78 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import com.example.project_al.modules.order.application.CheckoutPipeline;
+import com.example.project_al.modules.order.application.CheckoutTicket;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.shared.kernel.ApiResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/orders/checkout")
+@RequiredArgsConstructor
+@Tag(name = "Checkout", description = "Queued checkout with admission control")
+public class CheckoutController {
+
+    private final CheckoutPipeline checkoutPipeline;
+
+    @Value("${checkout.retry-after:PT1S}")
+    private Duration retryAfter;
+
+    @Value("${checkout.events-timeout:PT30S}")
+    private Duration eventsTimeout;
+
+    @PostMapping
+    @Operation(summary = "Queue an order for checkout and return a ticket to follow it")
+    public ResponseEntity<ApiResponse<CheckoutTicket>> checkout(@Valid @RequestBody Order order) {
+        return checkoutPipeline.submit(order)
+                .map(ticket -> ResponseEntity.status(HttpStatus.ACCEPTED)
+                        .header(HttpHeaders.LOCATION, "/api/orders/checkout/" + ticket.id())
+                        .body(ApiResponse.success(ticket, "Checkout queued")))
+                .orElse(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                        .body(ApiResponse.error("Checkout is busy, retry later")));
+    }
+
+    @GetMapping("/{ticketId}")
+    @Operation(summary = "Get the state of a checkout ticket")
+    public ResponseEntity<ApiResponse<CheckoutTicket>> getTicket(@PathVariable UUID ticketId) {
+        return checkoutPipeline.getTicket(ticketId)
+                .map(ticket -> ResponseEntity.ok(ApiResponse.success(ticket)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Checkout ticket not found")));
+    }
+
+    @GetMapping("/{ticketId}/events")
+    @Operation(summary = "Subscribe to the outcome of a checkout ticket")
+    public SseEmitter subscribe(@PathVariable UUID ticketId) {
+        SseEmitter emitter = new SseEmitter(eventsTimeout.toMillis());
+        checkoutPipeline.awaitTicket(ticketId).ifPresentOrElse(
+                result -> result.whenComplete((ticket, error) -> {
+                    try {
+                        if (error != null) {
+                            emitter.send(SseEmitter.event().name("error")
+                                    .data(ApiResponse.error("Checkout could not be completed")));
+                        } else {
+                            emitter.send(SseEmitter.event().name("checkout").data(ticket));
+                        }
+                        emitter.complete();
+                    } catch (IOException e) {
+                        emitter.completeWithError(e);
+                    }
+                }),
+                () -> emitter.completeWithError(new RuntimeException("Checkout ticket not found")));
+        return emitter;
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record DailyRevenue(LocalDate day, BigDecimal amount) {
+}
@@ -0,0 +1,6 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import java.math.BigDecimal;
+
+public record KeyedRevenue(Long key, BigDecimal amount) {
+}
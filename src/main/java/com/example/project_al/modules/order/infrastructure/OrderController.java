@@ -1,10 +1,15 @@
 package com.example.project_al.modules.order.infrastructure;
 
 import com.example.project_al.modules.order.application.OrderService;
+import com.example.project_al.modules.order.application.OrderStatistics;
+import com.example.project_al.modules.order.application.OrderTimelineEntry;
 import com.example.project_al.modules.order.domain.Order;
 import com.example.project_al.modules.order.domain.OrderItem;
 import com.example.project_al.modules.order.domain.OrderStatus;
 import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.DataFormat;
+import com.example.project_al.shared.kernel.StreamingExporter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,8 +21,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -28,6 +35,7 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final StreamingExporter exporter;
 
     @PostMapping
     @Operation(summary = "Create a new order")
@@ -37,6 +45,14 @@ public class OrderController {
                 .body(ApiResponse.success(created, "Order created successfully"));
     }
 
+    @PostMapping("/bulk")
+    @Operation(summary = "Create several orders in one transaction")
+    public ResponseEntity<ApiResponse<List<Order>>> createOrders(@Valid @RequestBody List<Order> orders) {
+        List<Order> created = orderService.placeOrders(orders);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success(created, "Orders created successfully"));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get order by ID")
     public ResponseEntity<ApiResponse<Order>> getOrder(@PathVariable Long id) {
@@ -46,29 +62,65 @@ public class OrderController {
                         .body(ApiResponse.error("Order not found")));
     }
 
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Get the status history of an order")
+    public ResponseEntity<ApiResponse<List<OrderTimelineEntry>>> getTimeline(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(orderService.getTimeline(id)));
+    }
+
+    @GetMapping("/tracking/{trackingNumber}")
+    @Operation(summary = "Get the status history of an order by tracking number")
+    public ResponseEntity<ApiResponse<List<OrderTimelineEntry>>> getTimelineByTrackingNumber(
+            @PathVariable String trackingNumber) {
+        return orderService.getTimelineByTrackingNumber(trackingNumber)
+                .map(timeline -> ResponseEntity.ok(ApiResponse.success(timeline)))
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(ApiResponse.error("Order not found")));
+    }
+
     @GetMapping("/buyer/{buyerId}")
     @Operation(summary = "Get orders by buyer")
-    public ResponseEntity<ApiResponse<List<Order>>> getOrdersByBuyer(@PathVariable Long buyerId) {
-        List<Order> orders = orderService.findByBuyerId(buyerId);
+    public ResponseEntity<ApiResponse<List<OrderSummary>>> getOrdersByBuyer(@PathVariable Long buyerId) {
+        List<OrderSummary> orders = orderService.findByBuyerId(buyerId);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
     @GetMapping("/buyer/{buyerId}/paged")
     @Operation(summary = "Get orders by buyer (paged)")
-    public ResponseEntity<ApiResponse<Page<Order>>> getOrdersByBuyerPaged(
+    public ResponseEntity<ApiResponse<Page<OrderSummary>>> getOrdersByBuyerPaged(
             @PathVariable Long buyerId,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<Order> orders = orderService.findByBuyerIdPaged(buyerId, pageable);
+        Page<OrderSummary> orders = orderService.findByBuyerIdPaged(buyerId, pageable);
+        return ResponseEntity.ok(ApiResponse.success(orders));
+    }
+
+    @GetMapping("/buyer/{buyerId}/cursor")
+    @Operation(summary = "Get orders by buyer with keyset pagination (newest first)")
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummary>>> getOrdersByBuyerCursor(
+            @PathVariable Long buyerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        CursorPage<OrderSummary> orders = orderService.findByBuyerId(buyerId, cursor, CursorPage.limit(size), count);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
     @GetMapping("/status/{status}")
     @Operation(summary = "Get orders by status")
-    public ResponseEntity<ApiResponse<List<Order>>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<Order> orders = orderService.findByStatus(status);
+    public ResponseEntity<ApiResponse<List<OrderSummary>>> getOrdersByStatus(@PathVariable OrderStatus status) {
+        List<OrderSummary> orders = orderService.findByStatus(status);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
+    @GetMapping("/status/{status}/export")
+    @Operation(summary = "Stream all orders with a status as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportOrdersByStatus(
+            @PathVariable OrderStatus status,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return exporter.export("orders-" + status.name().toLowerCase(), DataFormat.of(format),
+                OrderSummary.class, () -> orderService.streamByStatus(status));
+    }
+
     @PutMapping("/{id}/status")
     @Operation(summary = "Update order status")
     public ResponseEntity<ApiResponse<Order>> updateOrderStatus(
@@ -112,12 +164,21 @@ public class OrderController {
 
     @GetMapping("/recent")
     @Operation(summary = "Get recent orders")
-    public ResponseEntity<ApiResponse<List<Order>>> getRecentOrders(
+    public ResponseEntity<ApiResponse<List<OrderSummary>>> getRecentOrders(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate) {
-        List<Order> orders = orderService.findRecentOrders(startDate);
+        List<OrderSummary> orders = orderService.findRecentOrders(startDate);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
+    @GetMapping("/recent/export")
+    @Operation(summary = "Stream orders placed since a date as NDJSON or CSV")
+    public ResponseEntity<StreamingResponseBody> exportRecentOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(defaultValue = "ndjson") String format) {
+        return exporter.export("orders-recent", DataFormat.of(format),
+                OrderSummary.class, () -> orderService.streamRecentOrders(startDate));
+    }
+
     @GetMapping("/revenue")
     @Operation(summary = "Get total revenue")
     public ResponseEntity<ApiResponse<BigDecimal>> getTotalRevenue() {
@@ -132,19 +193,53 @@ public class OrderController {
         return ResponseEntity.ok(ApiResponse.success(count));
     }
 
+    @GetMapping("/stats")
+    @Operation(summary = "Get order counts by status and delivered revenue per day")
+    public ResponseEntity<ApiResponse<OrderStatistics.Snapshot>> getStatistics(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        OrderStatistics.Snapshot statistics = orderService.getStatistics(from, to);
+        return ResponseEntity.ok(ApiResponse.success(statistics));
+    }
+
+    @GetMapping("/stats/revenue/store/{storeId}")
+    @Operation(summary = "Get delivered revenue for a store")
+    public ResponseEntity<ApiResponse<BigDecimal>> getStoreRevenue(@PathVariable Long storeId) {
+        BigDecimal revenue = orderService.getStoreRevenue(storeId);
+        return ResponseEntity.ok(ApiResponse.success(revenue));
+    }
+
+    @GetMapping("/stats/revenue/category/{categoryId}")
+    @Operation(summary = "Get delivered revenue for a category")
+    public ResponseEntity<ApiResponse<BigDecimal>> getCategoryRevenue(@PathVariable Long categoryId) {
+        BigDecimal revenue = orderService.getCategoryRevenue(categoryId);
+        return ResponseEntity.ok(ApiResponse.success(revenue));
+    }
+
     @GetMapping("/amount-above")
     @Operation(summary = "Get orders above amount")
-    public ResponseEntity<ApiResponse<Page<Order>>> getOrdersAboveAmount(
+    public ResponseEntity<ApiResponse<Page<OrderSummary>>> getOrdersAboveAmount(
             @RequestParam Double minAmount,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<Order> orders = orderService.findOrdersAboveAmount(minAmount, pageable);
+        Page<OrderSummary> orders = orderService.findOrdersAboveAmount(minAmount, pageable);
+        return ResponseEntity.ok(ApiResponse.success(orders));
+    }
+
+    @GetMapping("/amount-above/cursor")
+    @Operation(summary = "Get orders above amount with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<OrderSummary>>> getOrdersAboveAmountCursor(
+            @RequestParam BigDecimal minAmount,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        CursorPage<OrderSummary> orders = orderService.findOrdersAboveAmount(minAmount, cursor, CursorPage.limit(size), count);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
     @GetMapping("/underlist/{idUnderlist}")
     @Operation(summary = "Get orders by id underlist")
-    public ResponseEntity<ApiResponse<List<Order>>> getOrdersByIdUnderlist(@PathVariable String idUnderlist) {
-        List<Order> orders = orderService.findByIdUnderlist(idUnderlist);
+    public ResponseEntity<ApiResponse<List<OrderSummary>>> getOrdersByIdUnderlist(@PathVariable String idUnderlist) {
+        List<OrderSummary> orders = orderService.findByIdUnderlist(idUnderlist);
         return ResponseEntity.ok(ApiResponse.success(orders));
     }
 
@@ -0,0 +1,462 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import com.example.project_al.modules.order.domain.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only journal of order status changes in memory-mapped, fixed-size segment files.
+ * Callers only enqueue; a single writer thread copies queued entries into the active segment
+ * and forces it to disk once per batch. Records are laid out as
+ * {@code [int bodyLength][int crc32][long orderId][long epochMillis][byte previous][byte status][short detailLength][detail]},
+ * with statuses stored as ordinals, so new statuses must be added at the end of {@link OrderStatus};
+ * a record without a status marks a deleted order.
+ * The length is written last and a zero length marks the end of a segment, so a torn record is
+ * dropped on recovery. Sealed segments are compacted by dropping orders that finished or were
+ * deleted before the retention period, once none of their records are left in the active segment.
+ * Compacted copies are written while appends carry on; only the swap takes the lock exclusively.
+ */
+@Slf4j
+@Component
+public class OrderJournal {
+
+    private static final int HEADER = 8;
+    private static final int FIXED_BODY = 20;
+    private static final int MAX_DETAIL = 255;
+    private static final byte NO_STATUS = -1;
+    private static final String SUFFIX = ".journal";
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long flushIntervalMs;
+    private final Duration retention;
+    private final BlockingQueue<Entry> pending;
+    private final Counter dropped;
+
+    private final NavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    // Record addresses per order: segment id in the high 32 bits, offset in the low 32 bits
+    private final ConcurrentMap<Long, long[]> index = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Long> finishedAt = new ConcurrentHashMap<>();
+    // Appends and reads share the lock; compaction takes it exclusively only to swap in a rewritten segment
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ReentrantLock compaction = new ReentrantLock();
+    private Thread writer;
+    private volatile Segment active;
+    private volatile boolean running;
+
+    // A null status marks the removal of a deleted order
+    public record Entry(long orderId, long timestamp, OrderStatus previousStatus, OrderStatus status, String detail) {
+
+        public static Entry removed(long orderId, long timestamp, OrderStatus previousStatus) {
+            return new Entry(orderId, timestamp, previousStatus, null, null);
+        }
+
+        public boolean isRemoval() {
+            return status == null;
+        }
+
+        boolean isFinal() {
+            return status == null || status == OrderStatus.DELIVERED || status == OrderStatus.CANCELLED
+                    || status == OrderStatus.REFUNDED;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private int position;
+
+        Segment(long id, Path path, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.buffer = buffer;
+        }
+    }
+
+    // No default directory: the journal is the only copy of order history and must not land in a temp folder
+    public OrderJournal(@Value("${order.journal.directory}") Path directory,
+                        @Value("${order.journal.segment-size:16777216}") int segmentSize,
+                        @Value("${order.journal.queue-capacity:65536}") int queueCapacity,
+                        @Value("${order.journal.flush-interval-ms:50}") long flushIntervalMs,
+                        @Value("${order.journal.retention:P90D}") Duration retention,
+                        MeterRegistry meterRegistry) {
+        if (directory == null || directory.toString().isBlank()) {
+            throw new IllegalArgumentException("order.journal.directory must be set");
+        }
+        if (segmentSize < HEADER + FIXED_BODY + MAX_DETAIL) {
+            throw new IllegalArgumentException("Journal segment size too small: " + segmentSize);
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.retention = retention;
+        this.pending = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("app.order-journal.dropped")
+                .description("Order journal entries dropped because the write queue was full")
+                .register(meterRegistry);
+        Gauge.builder("app.order-journal.pending", pending, BlockingQueue::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        recover();
+        running = true;
+        writer = new Thread(this::writeLoop, "order-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Never blocks the caller; an entry that does not fit in the queue is counted and dropped
+    public void append(Entry entry) {
+        if (!running || !pending.offer(entry)) {
+            dropped.increment();
+            log.warn("Order journal queue full, dropped {} -> {} for order {}",
+                    entry.previousStatus(), entry.status(), entry.orderId());
+        }
+    }
+
+    public List<Entry> replay(long orderId) {
+        lock.readLock().lock();
+        try {
+            long[] addresses = index.get(orderId);
+            if (addresses == null) {
+                return List.of();
+            }
+            List<Entry> entries = new ArrayList<>(addresses.length);
+            for (long address : addresses) {
+                Segment segment = segments.get(address >>> 32);
+                if (segment != null) {
+                    entries.add(read(segment.buffer, (int) address));
+                }
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Every entry in append order, for rebuilding projections from scratch
+    public void replayAll(Consumer<Entry> consumer) {
+        lock.readLock().lock();
+        try {
+            for (Segment segment : segments.values()) {
+                scan(segment.buffer, (offset, entry) -> consumer.accept(entry));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${order.journal.compaction-interval-ms:3600000}")
+    public void compact() {
+        compact(Instant.now().minus(retention).toEpochMilli());
+    }
+
+    // Segments are compacted oldest first, so an interrupted run always leaves an order's newest
+    // records, and with them its terminal one, for the next run to finish
+    void compact(long cutoffMillis) {
+        compaction.lock();
+        try {
+            long activeId = active.id;
+            for (Segment segment : List.copyOf(segments.headMap(activeId).values())) {
+                compactSegment(segment, cutoffMillis, activeId);
+            }
+        } catch (IOException e) {
+            log.error("Order journal compaction failed", e);
+        } finally {
+            compaction.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>();
+        while (running || !pending.isEmpty()) {
+            try {
+                Entry first = pending.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pending.drainTo(batch);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Writing {} order journal entries failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Group commit: one force for everything drained from the queue
+    private void write(List<Entry> batch) {
+        lock.readLock().lock();
+        try {
+            for (Entry entry : batch) {
+                byte[] detail = detailBytes(entry.detail());
+                int length = HEADER + FIXED_BODY + detail.length;
+                if (active.position + length > active.buffer.capacity()) {
+                    active.buffer.force();
+                    active = openSegment(active.id + 1, true);
+                }
+                int offset = active.position;
+                encode(active.buffer, offset, entry, detail);
+                active.position += length;
+                track(entry, address(active.id, offset));
+            }
+            active.buffer.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void track(Entry entry, long address) {
+        index.merge(entry.orderId(), new long[]{address}, (current, added) -> {
+            long[] grown = Arrays.copyOf(current, current.length + 1);
+            grown[current.length] = added[0];
+            return grown;
+        });
+        if (entry.isFinal()) {
+            finishedAt.put(entry.orderId(), entry.timestamp());
+        } else {
+            finishedAt.remove(entry.orderId());
+        }
+    }
+
+    private void recover() {
+        try {
+            Files.createDirectories(directory);
+            List<Long> ids;
+            try (Stream<Path> files = Files.list(directory)) {
+                ids = files.map(path -> path.getFileName().toString())
+                        .filter(name -> name.endsWith(SUFFIX))
+                        .map(name -> Long.parseLong(name.substring(0, name.length() - SUFFIX.length())))
+                        .sorted()
+                        .toList();
+            }
+            for (long id : ids) {
+                Segment segment = openSegment(id, false);
+                segment.position = scan(segment.buffer, (offset, entry) -> track(entry, address(id, offset)));
+                active = segment;
+            }
+            if (active == null) {
+                active = openSegment(0, true);
+            }
+            log.info("Order journal opened with {} segments and {} orders", segments.size(), index.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal in " + directory, e);
+        }
+    }
+
+    private Segment openSegment(long id, boolean create) {
+        Path path = directory.resolve(String.format("%020d%s", id, SUFFIX));
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            long size = create ? segmentSize : Math.max(channel.size(), HEADER);
+            Segment segment = new Segment(id, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            segments.put(id, segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open order journal segment " + path, e);
+        }
+    }
+
+    // Sealed segments never change, so the copy is written without the lock while appends continue
+    private void compactSegment(Segment segment, long cutoffMillis, long activeId) throws IOException {
+        Map<Integer, Entry> kept = new HashMap<>();
+        List<Integer> order = new ArrayList<>();
+        Set<Long> droppedOrders = new HashSet<>();
+        int[] keptBytes = {0};
+        scan(segment.buffer, (offset, entry) -> {
+            if (isExpired(entry.orderId(), cutoffMillis, activeId)) {
+                droppedOrders.add(entry.orderId());
+            } else {
+                kept.put(offset, entry);
+                order.add(offset);
+                keptBytes[0] += HEADER + FIXED_BODY + detailBytes(entry.detail()).length;
+            }
+        });
+        if (droppedOrders.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> moved = new HashMap<>();
+        MappedByteBuffer buffer = null;
+        int position = 0;
+        // Written beside the segment and moved over it, so a crash leaves either version whole
+        Path compacted = segment.path.resolveSibling(segment.path.getFileName() + ".compacting");
+        if (!kept.isEmpty()) {
+            try (FileChannel channel = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, keptBytes[0] + HEADER);
+                for (int offset : order) {
+                    Entry entry = kept.get(offset);
+                    byte[] detail = detailBytes(entry.detail());
+                    encode(buffer, position, entry, detail);
+                    moved.put(address(segment.id, offset), address(segment.id, position));
+                    position += HEADER + FIXED_BODY + detail.length;
+                }
+                buffer.force();
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            // An order that changed status since the scan keeps all of its records until the next run
+            if (!droppedOrders.stream().allMatch(orderId -> isExpired(orderId, cutoffMillis, activeId))) {
+                Files.deleteIfExists(compacted);
+                return;
+            }
+            if (buffer == null) {
+                segments.remove(segment.id);
+                Files.deleteIfExists(segment.path);
+            } else {
+                Files.move(compacted, segment.path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                Segment replacement = new Segment(segment.id, segment.path, buffer);
+                replacement.position = position;
+                segments.put(segment.id, replacement);
+            }
+            long segmentId = segment.id;
+            index.replaceAll((orderId, addresses) -> {
+                if (Arrays.stream(addresses).noneMatch(address -> address >>> 32 == segmentId)) {
+                    return addresses;
+                }
+                return Arrays.stream(addresses)
+                        .filter(address -> address >>> 32 != segmentId || moved.containsKey(address))
+                        .map(address -> moved.getOrDefault(address, address))
+                        .toArray();
+            });
+            index.values().removeIf(addresses -> addresses.length == 0);
+            finishedAt.keySet().removeIf(orderId -> !index.containsKey(orderId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Compacted order journal segment {}: kept {} records", segment.id, kept.size());
+    }
+
+    // Finished before the cutoff with every record in a sealed segment
+    private boolean isExpired(long orderId, long cutoffMillis, long activeId) {
+        Long finished = finishedAt.get(orderId);
+        long[] addresses = index.get(orderId);
+        return finished != null && finished < cutoffMillis && addresses != null
+                && Arrays.stream(addresses).allMatch(address -> address >>> 32 < activeId);
+    }
+
+    private interface RecordVisitor {
+        void visit(int offset, Entry entry);
+    }
+
+    // Visits valid records from the start and returns the offset after the last one
+    private static int scan(ByteBuffer buffer, RecordVisitor visitor) {
+        int offset = 0;
+        while (offset + HEADER + FIXED_BODY <= buffer.capacity()) {
+            int bodyLength = buffer.getInt(offset);
+            if (bodyLength < FIXED_BODY || offset + HEADER + bodyLength > buffer.capacity()
+                    || buffer.getInt(offset + 4) != crc(buffer, offset + HEADER, bodyLength)) {
+                break;
+            }
+            visitor.visit(offset, read(buffer, offset));
+            offset += HEADER + bodyLength;
+        }
+        return offset;
+    }
+
+    // The length goes in last so a record is only visible once it is complete
+    private static void encode(ByteBuffer buffer, int offset, Entry entry, byte[] detail) {
+        int body = offset + HEADER;
+        buffer.putLong(body, entry.orderId());
+        buffer.putLong(body + 8, entry.timestamp());
+        buffer.put(body + 16, entry.previousStatus() != null ? (byte) entry.previousStatus().ordinal() : NO_STATUS);
+        buffer.put(body + 17, entry.status() != null ? (byte) entry.status().ordinal() : NO_STATUS);
+        buffer.putShort(body + 18, (short) detail.length);
+        buffer.put(body + FIXED_BODY, detail);
+        int bodyLength = FIXED_BODY + detail.length;
+        buffer.putInt(offset + 4, crc(buffer, body, bodyLength));
+        buffer.putInt(offset, bodyLength);
+    }
+
+    private static Entry read(ByteBuffer buffer, int offset) {
+        int body = offset + HEADER;
+        byte previous = buffer.get(body + 16);
+        byte status = buffer.get(body + 17);
+        int detailLength = buffer.getShort(body + 18);
+        String detail = null;
+        if (detailLength > 0) {
+            byte[] bytes = new byte[detailLength];
+            buffer.get(body + FIXED_BODY, bytes);
+            detail = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return new Entry(buffer.getLong(body), buffer.getLong(body + 8),
+                previous == NO_STATUS ? null : STATUSES[previous], status == NO_STATUS ? null : STATUSES[status], detail);
+    }
+
+    private static int crc(ByteBuffer buffer, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static byte[] detailBytes(String detail) {
+        if (detail == null) {
+            return new byte[0];
+        }
+        byte[] bytes = detail.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > MAX_DETAIL ? Arrays.copyOf(bytes, MAX_DETAIL) : bytes;
+    }
+
+    private static long address(long segmentId, int offset) {
+        return segmentId << 32 | offset;
+    }
+}
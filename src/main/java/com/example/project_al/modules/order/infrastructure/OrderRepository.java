@@ -2,43 +2,106 @@ package com.example.project_al.modules.order.infrastructure;
 
 import com.example.project_al.modules.order.domain.Order;
 import com.example.project_al.modules.order.domain.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
-    List<Order> findByBuyerId(Long buyerId);
+    String SUMMARY = "SELECT new com.example.project_al.modules.order.infrastructure.OrderSummary(" +
+            "o.id, o.idUnderlist, o.dateTimestamp, o.status, o.totalAmount, o.trackingNumber, o.buyer.id) " +
+            "FROM Order o ";
 
-    List<Order> findByStatus(OrderStatus status);
+    // Tracking numbers are entered by sellers and not unique; the newest order wins
+    @Query("SELECT o.id FROM Order o WHERE o.trackingNumber = :trackingNumber ORDER BY o.id DESC")
+    List<Long> findIdsByTrackingNumber(@Param("trackingNumber") String trackingNumber, Pageable limit);
+
+    @Query(SUMMARY + "WHERE o.buyer.id = :buyerId")
+    List<OrderSummary> findByBuyerId(@Param("buyerId") Long buyerId);
+
+    @Query(SUMMARY + "WHERE o.status = :status")
+    List<OrderSummary> findByStatus(@Param("status") OrderStatus status);
 
     @Query("SELECT o FROM Order o WHERE o.buyer.id = :buyerId AND o.dateTimestamp BETWEEN :startDate AND :endDate")
     List<Order> findByBuyerAndDateRange(@Param("buyerId") Long buyerId,
                                         @Param("startDate") LocalDateTime startDate,
                                         @Param("endDate") LocalDateTime endDate);
 
-    @Query("SELECT o FROM Order o WHERE o.totalAmount > :minAmount")
-    Page<Order> findOrdersAboveAmount(@Param("minAmount") Double minAmount, Pageable pageable);
+    @Query(value = SUMMARY + "WHERE o.totalAmount > :minAmount",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.totalAmount > :minAmount")
+    Page<OrderSummary> findOrdersAboveAmount(@Param("minAmount") Double minAmount, Pageable pageable);
+
+    @Query(value = SUMMARY + "WHERE o.buyer.id = :buyerId ORDER BY o.dateTimestamp DESC",
+            countQuery = "SELECT COUNT(o) FROM Order o WHERE o.buyer.id = :buyerId")
+    Page<OrderSummary> findByBuyerIdOrderByDateDesc(@Param("buyerId") Long buyerId, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE o.buyer.id = :buyerId " +
+            "AND (o.dateTimestamp < :beforeDate OR (o.dateTimestamp = :beforeDate AND o.id < :beforeId)) " +
+            "ORDER BY o.dateTimestamp DESC, o.id DESC")
+    List<OrderSummary> findByBuyerIdBefore(@Param("buyerId") Long buyerId,
+                                           @Param("beforeDate") LocalDateTime beforeDate,
+                                           @Param("beforeId") Long beforeId,
+                                           Pageable limit);
+
+    Long countByBuyerId(Long buyerId);
+
+    @Query(SUMMARY + "WHERE o.totalAmount > :minAmount " +
+            "AND (o.totalAmount > :afterAmount OR (o.totalAmount = :afterAmount AND o.id > :afterId)) " +
+            "ORDER BY o.totalAmount, o.id")
+    List<OrderSummary> findOrdersAboveAmountAfter(@Param("minAmount") BigDecimal minAmount,
+                                                  @Param("afterAmount") BigDecimal afterAmount,
+                                                  @Param("afterId") Long afterId,
+                                                  Pageable limit);
 
-    @Query("SELECT o FROM Order o WHERE o.buyer.id = :buyerId ORDER BY o.dateTimestamp DESC")
-    Page<Order> findByBuyerIdOrderByDateDesc(@Param("buyerId") Long buyerId, Pageable pageable);
+    Long countByTotalAmountGreaterThan(BigDecimal minAmount);
 
-    @Query("SELECT o FROM Order o WHERE o.idUnderlist = :idUnderlist")
-    List<Order> findByIdUnderlist(@Param("idUnderlist") String idUnderlist);
+    @Query(SUMMARY + "WHERE o.idUnderlist = :idUnderlist")
+    List<OrderSummary> findByIdUnderlist(@Param("idUnderlist") String idUnderlist);
 
-    @Query("SELECT o FROM Order o WHERE o.dateTimestamp >= :startDate")
-    List<Order> findRecentOrders(@Param("startDate") LocalDateTime startDate);
+    @Query(SUMMARY + "WHERE o.dateTimestamp >= :startDate")
+    List<OrderSummary> findRecentOrders(@Param("startDate") LocalDateTime startDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY + "WHERE o.status = :status ORDER BY o.id")
+    Stream<OrderSummary> streamByStatus(@Param("status") OrderStatus status);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(SUMMARY + "WHERE o.dateTimestamp >= :startDate ORDER BY o.dateTimestamp, o.id")
+    Stream<OrderSummary> streamRecentOrders(@Param("startDate") LocalDateTime startDate);
 
     Long countByStatus(OrderStatus status);
 
     @Query("SELECT SUM(o.totalAmount) FROM Order o WHERE o.status = 'DELIVERED'")
     BigDecimal getTotalRevenue();
+
+    @Query("SELECT new com.example.project_al.modules.order.infrastructure.StatusCount(o.status, COUNT(o)) " +
+            "FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    @Query("SELECT new com.example.project_al.modules.order.infrastructure.DailyRevenue(" +
+            "CAST(o.dateTimestamp AS LocalDate), SUM(o.totalAmount)) " +
+            "FROM Order o WHERE o.status = 'DELIVERED' GROUP BY CAST(o.dateTimestamp AS LocalDate)")
+    List<DailyRevenue> sumDeliveredRevenueByDay();
+
+    @Query("SELECT new com.example.project_al.modules.order.infrastructure.KeyedRevenue(p.store.id, SUM(i.subtotal)) " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p " +
+            "WHERE o.status = 'DELIVERED' AND p.store IS NOT NULL GROUP BY p.store.id")
+    List<KeyedRevenue> sumDeliveredRevenueByStore();
+
+    @Query("SELECT new com.example.project_al.modules.order.infrastructure.KeyedRevenue(p.category.id, SUM(i.subtotal)) " +
+            "FROM OrderItem i JOIN i.order o JOIN i.product p " +
+            "WHERE o.status = 'DELIVERED' AND p.category IS NOT NULL GROUP BY p.category.id")
+    List<KeyedRevenue> sumDeliveredRevenueByCategory();
 }
\ No newline at end of file
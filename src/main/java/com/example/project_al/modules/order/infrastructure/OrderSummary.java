@@ -0,0 +1,17 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import com.example.project_al.modules.order.domain.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record OrderSummary(
+        Long id,
+        String idUnderlist,
+        LocalDateTime dateTimestamp,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        String trackingNumber,
+        Long buyerId
+) {
+}
@@ -0,0 +1,6 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import com.example.project_al.modules.order.domain.OrderStatus;
+
+public record StatusCount(OrderStatus status, Long count) {
+}
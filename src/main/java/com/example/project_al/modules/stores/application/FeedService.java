@@ -0,0 +1,238 @@
+package com.example.project_al.modules.stores.application;
+
+import com.example.project_al.modules.stores.infrastructure.FeedItem;
+import com.example.project_al.modules.stores.infrastructure.PostRepository;
+import com.example.project_al.modules.stores.infrastructure.PostSummary;
+import com.example.project_al.modules.user.application.FollowGraph;
+import com.example.project_al.modules.user.domain.FollowChanged;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Post feeds of the sellers a buyer follows. New posts are pushed into the bounded timelines of
+ * buyers whose timeline is in memory; posts of sellers with more followers than the fan-out limit
+ * are not pushed but pulled from the seller's own recent posts when the feed is read. Pages
+ * older than what memory holds come from the posts/follows join.
+ */
+@Service
+@Transactional(readOnly = true)
+public class FeedService {
+
+    private static final Comparator<FeedItem> NEWEST_FIRST = Comparator.comparing(FeedItem::postId).reversed();
+
+    private final PostRepository postRepository;
+    private final FollowGraph followGraph;
+    private final Cache<Long, Timeline> timelines;
+    private final Cache<Long, Timeline> sellerPosts;
+    private final int capacity;
+    private final int maxFanOut;
+    private final AtomicLong generation = new AtomicLong();
+
+    public FeedService(PostRepository postRepository,
+                       FollowGraph followGraph,
+                       MeterRegistry meterRegistry,
+                       @Value("${feed.timeline.capacity:200}") int capacity,
+                       @Value("${feed.fan-out.max-followers:5000}") int maxFanOut,
+                       @Value("${feed.timelines.maximum-size:100000}") long maximumTimelines,
+                       @Value("${feed.timelines.idle-ttl:PT30M}") Duration idleTtl) {
+        this.postRepository = postRepository;
+        this.followGraph = followGraph;
+        this.capacity = capacity;
+        this.maxFanOut = maxFanOut;
+        this.timelines = Caffeine.newBuilder()
+                .maximumSize(maximumTimelines)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        this.sellerPosts = Caffeine.newBuilder()
+                .maximumSize(maximumTimelines)
+                .expireAfterAccess(idleTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, timelines, "feed.timelines");
+        CaffeineCacheMetrics.monitor(meterRegistry, sellerPosts, "feed.seller-posts");
+    }
+
+    // Called once the post is committed
+    public void publish(FeedItem item) {
+        Timeline posts = sellerPosts.getIfPresent(item.sellerId());
+        if (posts != null) {
+            posts.add(item);
+        }
+        if (followGraph.countFollowers(item.sellerId()) > maxFanOut) {
+            return;
+        }
+        for (long buyerId : followGraph.followers(item.sellerId())) {
+            Timeline timeline = timelines.getIfPresent(buyerId);
+            if (timeline != null) {
+                timeline.add(item);
+            }
+        }
+    }
+
+    public CursorPage<PostSummary> getFeed(Long buyerId, String cursor, int size) {
+        long beforeId = cursor != null ? KeysetCursor.decode(cursor).id() : Long.MAX_VALUE;
+        int limit = size + 1;
+
+        // Until the follow graph is loaded it knows no follows, so memory would filter out every post
+        List<FeedItem> page = followGraph.isReady() ? fromMemory(buyerId, beforeId, limit) : null;
+        if (page == null) {
+            page = postRepository.findFeedItemsBefore(buyerId, beforeId, PageRequest.of(0, limit));
+        }
+
+        CursorPage<FeedItem> keys = CursorPage.of(page, size, item -> KeysetCursor.of(item.postId(), item.postId()), null);
+        List<Long> ids = keys.content().stream().map(FeedItem::postId).toList();
+        Map<Long, PostSummary> byId = ids.isEmpty() ? Map.of() : postRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummary::id, Function.identity()));
+        List<PostSummary> posts = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new CursorPage<>(posts, keys.nextCursor(), keys.hasNext(), null);
+    }
+
+    // Returns null when memory cannot fill the page and the database has to
+    private List<FeedItem> fromMemory(Long buyerId, long beforeId, int limit) {
+        Timeline timeline = cached(timelines, buyerId, id -> postRepository.findFeedItemsBefore(
+                id, Long.MAX_VALUE, PageRequest.of(0, capacity)));
+        List<FeedItem> items = new ArrayList<>(timeline.before(beforeId, limit));
+        long floor = timeline.floor();
+        for (long sellerId : followGraph.following(buyerId)) {
+            if (followGraph.countFollowers(sellerId) > maxFanOut) {
+                Timeline posts = cached(sellerPosts, sellerId, id -> postRepository.findFeedItemsBySellerId(
+                        id, PageRequest.of(0, capacity)));
+                items.addAll(posts.before(beforeId, limit));
+                floor = Math.max(floor, posts.floor());
+            }
+        }
+
+        // Below the floor at least one source has dropped posts, so memory alone can leave gaps there
+        long retained = floor;
+        Set<Long> seen = new HashSet<>();
+        List<FeedItem> page = items.stream()
+                .filter(item -> item.postId() >= retained)
+                .filter(item -> followGraph.isFollowing(buyerId, item.sellerId()))
+                .filter(item -> seen.add(item.postId()))
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toCollection(ArrayList::new));
+        // Memory only holds the newest posts; older pages come from the database
+        return page.size() < limit && retained > 0 ? null : page;
+    }
+
+    // The buyer's timeline no longer matches who they follow; rebuild it on the next read
+    @ApplicationModuleListener
+    public void on(FollowChanged event) {
+        generation.incrementAndGet();
+        timelines.invalidate(event.buyerId());
+    }
+
+    // Queries run outside the cache's compute so a slow load never holds a map lock. A load that
+    // overlapped a follow change may predate it, so it serves this read but is not cached.
+    private Timeline cached(Cache<Long, Timeline> cache, Long key, Function<Long, List<FeedItem>> loader) {
+        Timeline timeline = cache.getIfPresent(key);
+        if (timeline != null) {
+            return timeline;
+        }
+        long stamp = generation.get();
+        Timeline loaded = load(loader.apply(key));
+        Timeline cached = cache.asMap().compute(key, (id, current) ->
+                current != null ? current : generation.get() == stamp ? loaded : null);
+        return cached != null ? cached : loaded;
+    }
+
+    private Timeline load(List<FeedItem> newest) {
+        Timeline timeline = new Timeline(capacity, newest.size() < capacity);
+        newest.forEach(timeline::add);
+        return timeline;
+    }
+
+    // Newest-first, bounded list of feed items; complete while nothing older has been dropped
+    private static final class Timeline {
+
+        private final int capacity;
+        private final List<FeedItem> items = new ArrayList<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean complete;
+
+        Timeline(int capacity, boolean complete) {
+            this.capacity = capacity;
+            this.complete = complete;
+        }
+
+        void add(FeedItem item) {
+            lock.lock();
+            try {
+                ListIterator<FeedItem> iterator = items.listIterator();
+                while (iterator.hasNext()) {
+                    long postId = iterator.next().postId();
+                    if (postId == item.postId()) {
+                        return;
+                    }
+                    if (postId < item.postId()) {
+                        iterator.previous();
+                        break;
+                    }
+                }
+                iterator.add(item);
+                if (items.size() > capacity) {
+                    items.remove(items.size() - 1);
+                    complete = false;
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        List<FeedItem> before(long postId, int limit) {
+            lock.lock();
+            try {
+                List<FeedItem> page = new ArrayList<>(Math.min(limit, items.size()));
+                for (FeedItem item : items) {
+                    if (item.postId() < postId) {
+                        page.add(item);
+                        if (page.size() == limit) {
+                            break;
+                        }
+                    }
+                }
+                return page;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Oldest post id that is guaranteed to be present, or 0 while nothing has been dropped
+        long floor() {
+            lock.lock();
+            try {
+                if (complete) {
+                    return 0;
+                }
+                return items.isEmpty() ? Long.MAX_VALUE : items.get(items.size() - 1).postId();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.project_al.modules.stores.application;
+
+import com.example.project_al.modules.order.application.OrderService;
+import com.example.project_al.modules.order.domain.OrderConfirmed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class OrderConfirmationListener {
+
+    private final StoreService storeService;
+    private final OrderService orderService;
+
+    @ApplicationModuleListener
+    public void on(OrderConfirmed event) {
+        orderService.findById(event.orderId()).ifPresent(order ->
+                event.storeIds().forEach(storeId -> storeService.confirmOrder(storeId, order)));
+    }
+}
@@ -3,14 +3,22 @@ package com.example.project_al.modules.stores.application;
 import com.example.project_al.modules.catalog.domain.Product;
 import com.example.project_al.modules.stores.domain.Post;
 import com.example.project_al.modules.stores.domain.Store;
+import com.example.project_al.modules.stores.infrastructure.FeedItem;
 import com.example.project_al.modules.stores.infrastructure.PostRepository;
+import com.example.project_al.modules.stores.infrastructure.PostSummary;
 import com.example.project_al.modules.stores.infrastructure.StoreRepository;
+import com.example.project_al.modules.stores.infrastructure.StoreSummary;
+import com.example.project_al.shared.kernel.AfterCommit;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +29,7 @@ public class StoreService {
 
     private final StoreRepository storeRepository;
     private final PostRepository postRepository;
+    private final FeedService feedService;
 
     public Store createStore(Store store) {
         if (storeRepository.existsByNomStore(store.getNomStore())) {
@@ -47,27 +56,44 @@ public class StoreService {
         return storeRepository.findById(id);
     }
 
-    public List<Store> findBySellerId(Long sellerId) {
+    public List<StoreSummary> findBySellerId(Long sellerId) {
         return storeRepository.findBySellerId(sellerId);
     }
 
-    public Page<Store> searchStores(String keyword, Pageable pageable) {
+    public Page<StoreSummary> searchStores(String keyword, Pageable pageable) {
         return storeRepository.searchByNomStore(keyword, pageable);
     }
 
-    public List<Store> findHighScoreStores(Integer minScore) {
+    @Transactional(readOnly = true)
+    public CursorPage<StoreSummary> searchStores(String keyword, String cursor, int size, boolean count) {
+        Long afterId = cursor != null ? KeysetCursor.decode(cursor).id() : 0L;
+        List<StoreSummary> rows = storeRepository.searchByNomStoreAfter(keyword, afterId, PageRequest.of(0, size + 1));
+        Long total = count ? storeRepository.countByNomStoreContaining(keyword) : null;
+        return CursorPage.of(rows, size, store -> KeysetCursor.of(store.id(), store.id()), total);
+    }
+
+    public List<StoreSummary> findHighScoreStores(Integer minScore) {
         return storeRepository.findHighScoreStores(minScore);
     }
 
-    public List<Store> findByGrade(String grade) {
+    public List<StoreSummary> findByGrade(String grade) {
         return storeRepository.findByGrade(grade);
     }
 
     public Post createPost(Post post) {
-        return postRepository.save(post);
+        if (post.getDateCreation() == null) {
+            post.setDateCreation(LocalDateTime.now());
+        }
+        Post saved = postRepository.save(post);
+        Store store = saved.getStore();
+        if (store != null && store.getSeller() != null) {
+            FeedItem item = new FeedItem(saved.getId(), store.getId(), store.getSeller().getId());
+            AfterCommit.run(() -> feedService.publish(item));
+        }
+        return saved;
     }
 
-    public List<Post> getStorePosts(Long storeId) {
+    public List<PostSummary> getStorePosts(Long storeId) {
         return postRepository.findByStoreId(storeId);
     }
 
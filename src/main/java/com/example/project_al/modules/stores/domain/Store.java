@@ -5,11 +5,14 @@ import com.example.project_al.modules.user.domain.Seller;
 import com.example.project_al.shared.kernel.BaseEntity;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "stores")
 @Table(name = "stores")
 @Getter
 @Setter
@@ -0,0 +1,29 @@
+package com.example.project_al.modules.stores.infrastructure;
+
+import com.example.project_al.modules.stores.application.FeedService;
+import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+@Tag(name = "Feed", description = "Posts from the stores of followed sellers")
+public class FeedController {
+
+    private final FeedService feedService;
+
+    @GetMapping("/{buyerId}/feed")
+    @Operation(summary = "Get the newest posts of followed sellers with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<PostSummary>>> getFeed(
+            @PathVariable Long buyerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<PostSummary> feed = feedService.getFeed(buyerId, cursor, CursorPage.limit(size));
+        return ResponseEntity.ok(ApiResponse.success(feed));
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.project_al.modules.stores.infrastructure;
+
+public record FeedItem(Long postId, Long storeId, Long sellerId) {
+}
@@ -9,12 +9,31 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    List<Post> findByStoreId(Long storeId);
+    @Query("SELECT new com.example.project_al.modules.stores.infrastructure.PostSummary(" +
+            "p.id, p.nomPost, p.type, p.description, p.dateCreation, p.store.id) FROM Post p WHERE p.store.id = :storeId")
+    List<PostSummary> findByStoreId(@Param("storeId") Long storeId);
+
+    @Query("SELECT new com.example.project_al.modules.stores.infrastructure.PostSummary(" +
+            "p.id, p.nomPost, p.type, p.description, p.dateCreation, p.store.id) FROM Post p WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Newest posts of every seller the buyer follows, older than the given post id
+    @Query("SELECT new com.example.project_al.modules.stores.infrastructure.FeedItem(p.id, s.id, s.seller.id) " +
+            "FROM Post p JOIN p.store s WHERE p.id < :beforeId AND s.seller.id IN " +
+            "(SELECT f.seller.id FROM Follow f WHERE f.buyer.id = :buyerId) ORDER BY p.id DESC")
+    List<FeedItem> findFeedItemsBefore(@Param("buyerId") Long buyerId,
+                                       @Param("beforeId") Long beforeId,
+                                       Pageable limit);
+
+    @Query("SELECT new com.example.project_al.modules.stores.infrastructure.FeedItem(p.id, s.id, s.seller.id) " +
+            "FROM Post p JOIN p.store s WHERE s.seller.id = :sellerId ORDER BY p.id DESC")
+    List<FeedItem> findFeedItemsBySellerId(@Param("sellerId") Long sellerId, Pageable limit);
 
     @Query("SELECT p FROM Post p WHERE p.store.id = :storeId AND p.dateCreation >= :startDate")
     List<Post> findRecentPostsByStore(@Param("storeId") Long storeId,
@@ -0,0 +1,13 @@
+package com.example.project_al.modules.stores.infrastructure;
+
+import java.time.LocalDateTime;
+
+public record PostSummary(
+        Long id,
+        String nomPost,
+        String type,
+        String description,
+        LocalDateTime dateCreation,
+        Long storeId
+) {
+}
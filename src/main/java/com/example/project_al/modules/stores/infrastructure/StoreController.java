@@ -4,6 +4,7 @@ import com.example.project_al.modules.stores.application.StoreService;
 import com.example.project_al.modules.stores.domain.Post;
 import com.example.project_al.modules.stores.domain.Store;
 import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -53,32 +54,43 @@ public class StoreController {
 
     @GetMapping("/seller/{sellerId}")
     @Operation(summary = "Get stores by seller ID")
-    public ResponseEntity<ApiResponse<List<Store>>> getStoresBySeller(@PathVariable Long sellerId) {
-        List<Store> stores = storeService.findBySellerId(sellerId);
+    public ResponseEntity<ApiResponse<List<StoreSummary>>> getStoresBySeller(@PathVariable Long sellerId) {
+        List<StoreSummary> stores = storeService.findBySellerId(sellerId);
         return ResponseEntity.ok(ApiResponse.success(stores));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Search stores by name")
-    public ResponseEntity<ApiResponse<Page<Store>>> searchStores(
+    public ResponseEntity<ApiResponse<Page<StoreSummary>>> searchStores(
             @RequestParam String keyword,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<Store> stores = storeService.searchStores(keyword, pageable);
+        Page<StoreSummary> stores = storeService.searchStores(keyword, pageable);
+        return ResponseEntity.ok(ApiResponse.success(stores));
+    }
+
+    @GetMapping("/search/cursor")
+    @Operation(summary = "Search stores by name with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<StoreSummary>>> searchStoresByCursor(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean count) {
+        CursorPage<StoreSummary> stores = storeService.searchStores(keyword, cursor, CursorPage.limit(size), count);
         return ResponseEntity.ok(ApiResponse.success(stores));
     }
 
     @GetMapping("/high-score")
     @Operation(summary = "Get high score stores")
-    public ResponseEntity<ApiResponse<List<Store>>> getHighScoreStores(
+    public ResponseEntity<ApiResponse<List<StoreSummary>>> getHighScoreStores(
             @RequestParam(defaultValue = "80") Integer minScore) {
-        List<Store> stores = storeService.findHighScoreStores(minScore);
+        List<StoreSummary> stores = storeService.findHighScoreStores(minScore);
         return ResponseEntity.ok(ApiResponse.success(stores));
     }
 
     @GetMapping("/grade/{grade}")
     @Operation(summary = "Get stores by grade")
-    public ResponseEntity<ApiResponse<List<Store>>> getStoresByGrade(@PathVariable String grade) {
-        List<Store> stores = storeService.findByGrade(grade);
+    public ResponseEntity<ApiResponse<List<StoreSummary>>> getStoresByGrade(@PathVariable String grade) {
+        List<StoreSummary> stores = storeService.findByGrade(grade);
         return ResponseEntity.ok(ApiResponse.success(stores));
     }
 
@@ -97,8 +109,8 @@ public class StoreController {
 
     @GetMapping("/{storeId}/posts")
     @Operation(summary = "Get all posts for a store")
-    public ResponseEntity<ApiResponse<List<Post>>> getStorePosts(@PathVariable Long storeId) {
-        List<Post> posts = storeService.getStorePosts(storeId);
+    public ResponseEntity<ApiResponse<List<PostSummary>>> getStorePosts(@PathVariable Long storeId) {
+        List<PostSummary> posts = storeService.getStorePosts(storeId);
         return ResponseEntity.ok(ApiResponse.success(posts));
     }
 
@@ -14,18 +14,31 @@ import java.util.Optional;
 @Repository
 public interface StoreRepository extends JpaRepository<Store, Long> {
 
+    String SUMMARY = "SELECT new com.example.project_al.modules.stores.infrastructure.StoreSummary(" +
+            "s.id, s.nomStore, s.domains, s.grade, s.idScore, s.isActive, s.seller.id) " +
+            "FROM Store s ";
+
     Optional<Store> findByNomStore(String nomStore);
 
-    List<Store> findBySellerId(Long sellerId);
+    @Query(SUMMARY + "WHERE s.seller.id = :sellerId")
+    List<StoreSummary> findBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query(value = SUMMARY + "WHERE s.nomStore LIKE %:keyword%",
+            countQuery = "SELECT COUNT(s) FROM Store s WHERE s.nomStore LIKE %:keyword%")
+    Page<StoreSummary> searchByNomStore(@Param("keyword") String keyword, Pageable pageable);
+
+    @Query(SUMMARY + "WHERE s.nomStore LIKE %:keyword% AND s.id > :afterId ORDER BY s.id")
+    List<StoreSummary> searchByNomStoreAfter(@Param("keyword") String keyword,
+                                             @Param("afterId") Long afterId,
+                                             Pageable limit);
 
-    @Query("SELECT s FROM Store s WHERE s.nomStore LIKE %:keyword%")
-    Page<Store> searchByNomStore(@Param("keyword") String keyword, Pageable pageable);
+    long countByNomStoreContaining(String keyword);
 
-    @Query("SELECT s FROM Store s WHERE s.idScore > :minScore")
-    List<Store> findHighScoreStores(@Param("minScore") Integer minScore);
+    @Query(SUMMARY + "WHERE s.idScore > :minScore")
+    List<StoreSummary> findHighScoreStores(@Param("minScore") Integer minScore);
 
-    @Query("SELECT s FROM Store s WHERE s.grade = :grade")
-    List<Store> findByGrade(@Param("grade") String grade);
+    @Query(SUMMARY + "WHERE s.grade = :grade")
+    List<StoreSummary> findByGrade(@Param("grade") String grade);
 
     @Query("SELECT s FROM Store s WHERE s.seller.id = :sellerId AND s.isActive = true") // CHANGED: active -> isActive
     List<Store> findActiveBySellerId(@Param("sellerId") Long sellerId);
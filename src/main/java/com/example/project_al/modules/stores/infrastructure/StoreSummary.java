@@ -0,0 +1,12 @@
+package com.example.project_al.modules.stores.infrastructure;
+
+public record StoreSummary(
+        Long id,
+        String nomStore,
+        String domains,
+        String grade,
+        Integer idScore,
+        Boolean isActive,
+        Long sellerId
+) {
+}
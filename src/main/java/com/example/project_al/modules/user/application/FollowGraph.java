@@ -0,0 +1,161 @@
+package com.example.project_al.modules.user.application;
+
+import com.example.project_al.modules.user.infrastructure.FollowEdge;
+import com.example.project_al.modules.user.infrastructure.FollowRepository;
+import com.example.project_al.shared.kernel.LongHashSet;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory adjacency of the follows table, indexed both ways, so follow checks and follower
+ * counts are constant time. The follows table stays the source of truth: the graph is loaded from
+ * it at startup and updated after each committed follow or unfollow.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FollowGraph {
+
+    private static final int LOAD_BATCH_SIZE = 10_000;
+    private static final long[] NONE = new long[0];
+
+    private final FollowRepository followRepository;
+
+    private final ConcurrentMap<Long, Adjacency> followersBySeller = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, Adjacency> followingByBuyer = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long start = System.currentTimeMillis();
+        long afterId = 0L;
+        long edges = 0;
+        List<FollowEdge> batch;
+        do {
+            batch = followRepository.findEdgesAfter(afterId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (FollowEdge edge : batch) {
+                follow(edge.buyerId(), edge.sellerId());
+                afterId = edge.id();
+            }
+            edges += batch.size();
+        } while (batch.size() == LOAD_BATCH_SIZE);
+        ready = true;
+        log.info("Follow graph loaded with {} edges in {} ms", edges, System.currentTimeMillis() - start);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean follow(long buyerId, long sellerId) {
+        boolean added = adjacency(followersBySeller, sellerId).add(buyerId);
+        adjacency(followingByBuyer, buyerId).add(sellerId);
+        return added;
+    }
+
+    public boolean unfollow(long buyerId, long sellerId) {
+        Adjacency followers = followersBySeller.get(sellerId);
+        boolean removed = followers != null && followers.remove(buyerId);
+        Adjacency following = followingByBuyer.get(buyerId);
+        if (following != null) {
+            following.remove(sellerId);
+        }
+        return removed;
+    }
+
+    public boolean isFollowing(long buyerId, long sellerId) {
+        Adjacency following = followingByBuyer.get(buyerId);
+        return following != null && following.contains(sellerId);
+    }
+
+    public long countFollowers(long sellerId) {
+        Adjacency followers = followersBySeller.get(sellerId);
+        return followers != null ? followers.count() : 0;
+    }
+
+    public long countFollowing(long buyerId) {
+        Adjacency following = followingByBuyer.get(buyerId);
+        return following != null ? following.count() : 0;
+    }
+
+    // Point-in-time copy of a seller's follower ids, for fan-out
+    public long[] followers(long sellerId) {
+        Adjacency followers = followersBySeller.get(sellerId);
+        return followers != null ? followers.snapshot() : NONE;
+    }
+
+    public long[] following(long buyerId) {
+        Adjacency following = followingByBuyer.get(buyerId);
+        return following != null ? following.snapshot() : NONE;
+    }
+
+    private static Adjacency adjacency(ConcurrentMap<Long, Adjacency> index, long id) {
+        return index.computeIfAbsent(id, key -> new Adjacency());
+    }
+
+    // Mutations take the lock; the counter mirrors the set size so counts are read without it
+    private static final class Adjacency {
+
+        private final LongHashSet ids = new LongHashSet();
+        private final AtomicLong count = new AtomicLong();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+        boolean add(long id) {
+            lock.writeLock().lock();
+            try {
+                if (!ids.add(id)) {
+                    return false;
+                }
+                count.incrementAndGet();
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean remove(long id) {
+            lock.writeLock().lock();
+            try {
+                if (!ids.remove(id)) {
+                    return false;
+                }
+                count.decrementAndGet();
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean contains(long id) {
+            lock.readLock().lock();
+            try {
+                return ids.contains(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long count() {
+            return count.get();
+        }
+
+        long[] snapshot() {
+            lock.readLock().lock();
+            try {
+                return ids.toArray();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
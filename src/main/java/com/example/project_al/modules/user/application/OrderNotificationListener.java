@@ -0,0 +1,49 @@
+package com.example.project_al.modules.user.application;
+
+import com.example.project_al.modules.order.domain.OrderCancelled;
+import com.example.project_al.modules.order.domain.OrderPlaced;
+import com.example.project_al.modules.order.domain.OrderShipped;
+import com.example.project_al.modules.stores.application.StoreService;
+import com.example.project_al.modules.stores.domain.Store;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.modulith.events.ApplicationModuleListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.Optional;
+
+// There is no delivery channel yet, so notifications are only logged
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrderNotificationListener {
+
+    private final StoreService storeService;
+    private final FollowGraph followGraph;
+
+    @ApplicationModuleListener
+    public void on(OrderPlaced event) {
+        event.storeIds().stream()
+                .map(storeService::findById)
+                .flatMap(Optional::stream)
+                .map(Store::getSeller)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(seller -> {
+                    for (long buyerId : followGraph.followers(seller.getId())) {
+                        log.info("Notify buyer {}: seller {} just sold an order", buyerId, seller.getId());
+                    }
+                });
+    }
+
+    @ApplicationModuleListener
+    public void on(OrderShipped event) {
+        log.info("Notify buyer {}: order {} shipped with tracking {}", event.buyerId(), event.orderId(), event.trackingNumber());
+    }
+
+    @ApplicationModuleListener
+    public void on(OrderCancelled event) {
+        log.info("Notify buyer {}: order {} was cancelled", event.buyerId(), event.orderId());
+    }
+}
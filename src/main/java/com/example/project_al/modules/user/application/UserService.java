@@ -3,13 +3,20 @@ package com.example.project_al.modules.user.application;
 import com.example.project_al.modules.user.domain.*;
 import com.example.project_al.modules.user.infrastructure.FollowRepository;
 import com.example.project_al.modules.user.infrastructure.UserRepository;
+import com.example.project_al.modules.user.infrastructure.UserSummary;
+import com.example.project_al.shared.kernel.AfterCommit;
+import com.example.project_al.shared.kernel.CursorPage;
+import com.example.project_al.shared.kernel.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,7 +27,9 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final FollowRepository followRepository;
+    private final FollowGraph followGraph;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher events;
 
     public User registerUser(User user) {
         if (userRepository.existsByEmail(user.getEmail())) {
@@ -51,72 +60,89 @@ public class UserService {
         return userRepository.findActiveByEmail(email);
     }
 
-    public List<Buyer> getAllBuyers() {
+    public List<UserSummary> getAllBuyers() {
         return userRepository.findAllBuyers();
     }
 
-    public List<Seller> getAllSellers() {
+    public List<UserSummary> getAllSellers() {
         return userRepository.findAllSellers();
     }
 
-    public Page<User> searchUsers(String keyword, Pageable pageable) {
+    public Page<UserSummary> searchUsers(String keyword, Pageable pageable) {
         return userRepository.searchByNom(keyword, pageable);
     }
 
     public Follow followSeller(Long buyerId, Long sellerId) {
-        User buyerUser = userRepository.findById(buyerId)
+        Buyer buyer = userRepository.findBuyerById(buyerId)
                 .orElseThrow(() -> new RuntimeException("Buyer not found"));
-        User sellerUser = userRepository.findById(sellerId)
+        Seller seller = userRepository.findSellerById(sellerId)
                 .orElseThrow(() -> new RuntimeException("Seller not found"));
 
-        if (!(buyerUser instanceof Buyer buyer)) {
-            throw new RuntimeException("User is not a buyer");
-        }
-        if (!(sellerUser instanceof Seller seller)) {
-            throw new RuntimeException("User is not a seller");
-        }
-
-        if (followRepository.existsByBuyerIdAndSellerId(buyerId, sellerId)) {
+        if (isFollowing(buyerId, sellerId)) {
             throw new RuntimeException("Already following this seller");
         }
 
         Follow follow = Follow.builder()
                 .buyer(buyer)
                 .seller(seller)
+                .followedAt(LocalDateTime.now())
                 .build();
-
-        buyer.follow(seller);
-        userRepository.save(buyer);
-
-        return followRepository.save(follow);
+        Follow saved = followRepository.save(follow);
+        AfterCommit.run(() -> followGraph.follow(buyerId, sellerId));
+        events.publishEvent(new FollowChanged(buyerId, sellerId, true));
+        return saved;
     }
 
     public void unfollowSeller(Long buyerId, Long sellerId) {
-        if (!followRepository.existsByBuyerIdAndSellerId(buyerId, sellerId)) {
+        if (!isFollowing(buyerId, sellerId)) {
             throw new RuntimeException("Not following this seller");
         }
 
-        User buyerUser = userRepository.findById(buyerId)
-                .orElseThrow(() -> new RuntimeException("Buyer not found"));
-        User sellerUser = userRepository.findById(sellerId)
-                .orElseThrow(() -> new RuntimeException("Seller not found"));
+        followRepository.deleteByBuyerIdAndSellerId(buyerId, sellerId);
+        AfterCommit.run(() -> followGraph.unfollow(buyerId, sellerId));
+        events.publishEvent(new FollowChanged(buyerId, sellerId, false));
+    }
 
-        if (buyerUser instanceof Buyer buyer && sellerUser instanceof Seller seller) {
-            buyer.unfollow(seller);
-            userRepository.save(buyer);
+    @Transactional(readOnly = true)
+    public boolean isFollowing(Long buyerId, Long sellerId) {
+        if (followGraph.isReady()) {
+            return followGraph.isFollowing(buyerId, sellerId);
         }
-
-        followRepository.deleteByBuyerIdAndSellerId(buyerId, sellerId);
+        return followRepository.existsByBuyerIdAndSellerId(buyerId, sellerId);
     }
 
-    public List<Buyer> getFollowers(Long sellerId) {
+    public List<UserSummary> getFollowers(Long sellerId) {
         return userRepository.findFollowersBySellerId(sellerId);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getFollowers(Long sellerId, String cursor, int size) {
+        Long afterId = cursor != null ? KeysetCursor.decode(cursor).id() : 0L;
+        List<UserSummary> rows = followRepository.findFollowersAfter(sellerId, afterId, PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, user -> KeysetCursor.of(user.id(), user.id()), countFollowers(sellerId));
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<UserSummary> getFollowing(Long buyerId, String cursor, int size) {
+        Long afterId = cursor != null ? KeysetCursor.decode(cursor).id() : 0L;
+        List<UserSummary> rows = followRepository.findFollowingAfter(buyerId, afterId, PageRequest.of(0, size + 1));
+        return CursorPage.of(rows, size, user -> KeysetCursor.of(user.id(), user.id()), countFollowing(buyerId));
+    }
+
     public Long countFollowers(Long sellerId) {
+        if (followGraph.isReady()) {
+            return followGraph.countFollowers(sellerId);
+        }
         return followRepository.countBySellerId(sellerId);
     }
 
+    public Long countFollowing(Long buyerId) {
+        if (followGraph.isReady()) {
+            return followGraph.countFollowing(buyerId);
+        }
+        return followRepository.countByBuyerId(buyerId);
+    }
+
     public void deactivateUser(Long userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -137,7 +163,7 @@ public class UserService {
                 .orElse(false);
     }
 
-    public List<User> findByUserListId(Integer userListId) {
+    public List<UserSummary> findByUserListId(Integer userListId) {
         return userRepository.findByUserListId(userListId);
     }
 }
\ No newline at end of file
@@ -6,9 +6,7 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 @Entity
 @Table(name = "buyers")
@@ -27,30 +25,11 @@ public class Buyer extends User {
     )
     private List<Product> wishList = new ArrayList<>();
 
-    @ManyToMany(fetch = FetchType.LAZY)
-    @JoinTable(
-            name = "buyer_following",
-            joinColumns = @JoinColumn(name = "buyer_id"),
-            inverseJoinColumns = @JoinColumn(name = "seller_id")
-    )
-    private Set<User> followingList = new HashSet<>();
-
     @Override
     public String getUserType() {
         return "BUYER";
     }
 
-    // Follow<User> from UML
-    public void follow(User user) {
-        if (user instanceof Seller) {
-            followingList.add(user);
-        }
-    }
-
-    public void unfollow(User user) {
-        followingList.remove(user);
-    }
-
     // operation1 from UML
     public String operation1(String param1) {
         return "Buyer operation1: " + param1;
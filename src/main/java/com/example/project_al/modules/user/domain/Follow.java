@@ -6,7 +6,9 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "follows")
+@Table(name = "follows",
+        uniqueConstraints = @UniqueConstraint(name = "uk_follows_buyer_seller", columnNames = {"buyer_id", "seller_id"}),
+        indexes = @Index(name = "idx_follows_seller_buyer", columnList = "seller_id, buyer_id"))
 @Getter
 @Setter
 @NoArgsConstructor
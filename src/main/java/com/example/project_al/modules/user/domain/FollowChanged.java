@@ -0,0 +1,4 @@
+package com.example.project_al.modules.user.domain;
+
+public record FollowChanged(Long buyerId, Long sellerId, boolean following) {
+}
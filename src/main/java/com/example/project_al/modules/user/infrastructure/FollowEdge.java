@@ -0,0 +1,4 @@
+package com.example.project_al.modules.user.infrastructure;
+
+public record FollowEdge(Long id, Long buyerId, Long sellerId) {
+}
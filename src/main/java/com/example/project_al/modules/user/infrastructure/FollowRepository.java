@@ -1,6 +1,7 @@
 package com.example.project_al.modules.user.infrastructure;
 
 import com.example.project_al.modules.user.domain.Follow;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -31,4 +32,20 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
 
     @Query("SELECT f FROM Follow f WHERE f.seller.id = :sellerId")
     List<Follow> findBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query("SELECT new com.example.project_al.modules.user.infrastructure.FollowEdge(f.id, f.buyer.id, f.seller.id) " +
+            "FROM Follow f WHERE f.id > :afterId ORDER BY f.id")
+    List<FollowEdge> findEdgesAfter(@Param("afterId") Long afterId, Pageable limit);
+
+    @Query(UserRepository.SUMMARY + "FROM Follow f JOIN f.buyer u WHERE f.seller.id = :sellerId AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findFollowersAfter(@Param("sellerId") Long sellerId,
+                                         @Param("afterId") Long afterId,
+                                         Pageable limit);
+
+    @Query(UserRepository.SUMMARY + "FROM Follow f JOIN f.seller u WHERE f.buyer.id = :buyerId AND u.id > :afterId ORDER BY u.id")
+    List<UserSummary> findFollowingAfter(@Param("buyerId") Long buyerId,
+                                         @Param("afterId") Long afterId,
+                                         Pageable limit);
+
+    Long countByBuyerId(Long buyerId);
 }
\ No newline at end of file
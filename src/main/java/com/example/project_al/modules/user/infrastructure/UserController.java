@@ -6,6 +6,7 @@ import com.example.project_al.modules.user.domain.Buyer;
 import com.example.project_al.modules.user.domain.Seller;
 import com.example.project_al.modules.user.domain.User;
 import com.example.project_al.shared.kernel.ApiResponse;
+import com.example.project_al.shared.kernel.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -76,15 +77,15 @@ public class UserController {
 
     @GetMapping("/buyers")
     @Operation(summary = "Get all buyers")
-    public ResponseEntity<ApiResponse<List<Buyer>>> getAllBuyers() {
-        List<Buyer> buyers = userService.getAllBuyers();
+    public ResponseEntity<ApiResponse<List<UserSummary>>> getAllBuyers() {
+        List<UserSummary> buyers = userService.getAllBuyers();
         return ResponseEntity.ok(ApiResponse.success(buyers));
     }
 
     @GetMapping("/sellers")
     @Operation(summary = "Get all sellers")
-    public ResponseEntity<ApiResponse<List<Seller>>> getAllSellers() {
-        List<Seller> sellers = userService.getAllSellers();
+    public ResponseEntity<ApiResponse<List<UserSummary>>> getAllSellers() {
+        List<UserSummary> sellers = userService.getAllSellers();
         return ResponseEntity.ok(ApiResponse.success(sellers));
     }
 
@@ -108,8 +109,8 @@ public class UserController {
 
     @GetMapping("/sellers/{sellerId}/followers")
     @Operation(summary = "Get all followers of a seller")
-    public ResponseEntity<ApiResponse<List<Buyer>>> getSellerFollowers(@PathVariable Long sellerId) {
-        List<Buyer> followers = userService.getFollowers(sellerId);
+    public ResponseEntity<ApiResponse<List<UserSummary>>> getSellerFollowers(@PathVariable Long sellerId) {
+        List<UserSummary> followers = userService.getFollowers(sellerId);
         return ResponseEntity.ok(ApiResponse.success(followers));
     }
 
@@ -120,6 +121,41 @@ public class UserController {
         return ResponseEntity.ok(ApiResponse.success(count));
     }
 
+    @GetMapping("/sellers/{sellerId}/followers/cursor")
+    @Operation(summary = "Get followers of a seller with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<UserSummary>>> getSellerFollowersByCursor(
+            @PathVariable Long sellerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserSummary> followers = userService.getFollowers(sellerId, cursor, CursorPage.limit(size));
+        return ResponseEntity.ok(ApiResponse.success(followers));
+    }
+
+    @GetMapping("/{buyerId}/following/cursor")
+    @Operation(summary = "Get sellers followed by a buyer with keyset pagination")
+    public ResponseEntity<ApiResponse<CursorPage<UserSummary>>> getFollowingByCursor(
+            @PathVariable Long buyerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        CursorPage<UserSummary> following = userService.getFollowing(buyerId, cursor, CursorPage.limit(size));
+        return ResponseEntity.ok(ApiResponse.success(following));
+    }
+
+    @GetMapping("/{buyerId}/following/count")
+    @Operation(summary = "Count sellers followed by a buyer")
+    public ResponseEntity<ApiResponse<Long>> countFollowing(@PathVariable Long buyerId) {
+        Long count = userService.countFollowing(buyerId);
+        return ResponseEntity.ok(ApiResponse.success(count));
+    }
+
+    @GetMapping("/{buyerId}/following/{sellerId}")
+    @Operation(summary = "Check whether a buyer follows a seller")
+    public ResponseEntity<ApiResponse<Boolean>> isFollowing(
+            @PathVariable Long buyerId,
+            @PathVariable Long sellerId) {
+        return ResponseEntity.ok(ApiResponse.success(userService.isFollowing(buyerId, sellerId)));
+    }
+
     @PutMapping("/{id}")
     @Operation(summary = "Update user")
     public ResponseEntity<ApiResponse<User>> updateUser(
@@ -131,10 +167,10 @@ public class UserController {
 
     @GetMapping("/search")
     @Operation(summary = "Search users by name")
-    public ResponseEntity<ApiResponse<Page<User>>> searchUsers(
+    public ResponseEntity<ApiResponse<Page<UserSummary>>> searchUsers(
             @RequestParam String keyword,
             @Parameter(hidden = true) Pageable pageable) {
-        Page<User> users = userService.searchUsers(keyword, pageable);
+        Page<UserSummary> users = userService.searchUsers(keyword, pageable);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 
@@ -154,8 +190,8 @@ public class UserController {
 
     @GetMapping("/list-id/{userListId}")
     @Operation(summary = "Get users by user list ID")
-    public ResponseEntity<ApiResponse<List<User>>> getUsersByListId(@PathVariable Integer userListId) {
-        List<User> users = userService.findByUserListId(userListId);
+    public ResponseEntity<ApiResponse<List<UserSummary>>> getUsersByListId(@PathVariable Integer userListId) {
+        List<UserSummary> users = userService.findByUserListId(userListId);
         return ResponseEntity.ok(ApiResponse.success(users));
     }
 }
\ No newline at end of file
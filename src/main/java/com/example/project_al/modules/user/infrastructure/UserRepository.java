@@ -16,26 +16,37 @@ import java.util.Optional;
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    String SUMMARY = "SELECT new com.example.project_al.modules.user.infrastructure.UserSummary(" +
+            "u.id, u.nom, u.email, u.phoneNumber, u.isActive) ";
+
     Optional<User> findByEmail(String email);
 
+    @Query("SELECT b FROM Buyer b WHERE b.id = :id")
+    Optional<Buyer> findBuyerById(@Param("id") Long id);
+
+    @Query("SELECT s FROM Seller s WHERE s.id = :id")
+    Optional<Seller> findSellerById(@Param("id") Long id);
+
     boolean existsByEmail(String email);
 
-    @Query("SELECT u FROM User u WHERE TYPE(u) = Buyer")
-    List<Buyer> findAllBuyers();
+    @Query(SUMMARY + "FROM User u WHERE TYPE(u) = Buyer")
+    List<UserSummary> findAllBuyers();
 
-    @Query("SELECT u FROM User u WHERE TYPE(u) = Seller")
-    List<Seller> findAllSellers();
+    @Query(SUMMARY + "FROM User u WHERE TYPE(u) = Seller")
+    List<UserSummary> findAllSellers();
 
-    @Query("SELECT b FROM Buyer b JOIN b.followingList s WHERE s.id = :sellerId")
-    List<Buyer> findFollowersBySellerId(@Param("sellerId") Long sellerId);
+    @Query(SUMMARY + "FROM Follow f JOIN f.buyer u WHERE f.seller.id = :sellerId")
+    List<UserSummary> findFollowersBySellerId(@Param("sellerId") Long sellerId);
 
-    @Query("SELECT u FROM User u WHERE u.nom LIKE %:keyword%")
-    Page<User> searchByNom(@Param("keyword") String keyword, Pageable pageable);
+    @Query(value = SUMMARY + "FROM User u WHERE u.nom LIKE %:keyword%",
+            countQuery = "SELECT COUNT(u) FROM User u WHERE u.nom LIKE %:keyword%")
+    Page<UserSummary> searchByNom(@Param("keyword") String keyword, Pageable pageable);
 
     @Query("SELECT u FROM User u WHERE u.email = :email AND u.isActive = true") // CHANGED: active -> isActive
     Optional<User> findActiveByEmail(@Param("email") String email);
 
-    List<User> findByUserListId(Integer userListId);
+    @Query(SUMMARY + "FROM User u WHERE u.userListId = :userListId")
+    List<UserSummary> findByUserListId(@Param("userListId") Integer userListId);
 
     // Add these methods if needed:
     List<User> findByIsActiveTrue();
@@ -0,0 +1,10 @@
+package com.example.project_al.modules.user.infrastructure;
+
+public record UserSummary(
+        Long id,
+        String nom,
+        String email,
+        String phoneNumber,
+        Boolean isActive
+) {
+}
@@ -0,0 +1,28 @@
+package com.example.project_al.shared.config;
+
+import com.example.project_al.shared.kernel.StreamingExporter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Gives export downloads their own async timeout, so the global default still applies to the
+ * checkout SSE streams and DeferredResults. Runs before the async request starts, while the
+ * timeout can still be changed.
+ */
+@Component
+public class AsyncTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object timeout = request.getAttribute(StreamingExporter.REQUEST_TIMEOUT_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timeout instanceof Duration duration && request instanceof AsyncWebRequest async) {
+            async.setTimeout(duration.toMillis());
+        }
+    }
+}
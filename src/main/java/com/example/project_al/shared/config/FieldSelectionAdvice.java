@@ -0,0 +1,79 @@
+package com.example.project_al.shared.config;
+
+import com.example.project_al.shared.kernel.ApiResponse;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Trims API responses to the properties listed in an optional {@code ?fields=id,name} parameter.
+ * The selection applies to each rendered item: list elements, the content of a page, or the single object.
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class FieldSelectionAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final String FIELDS_PARAMETER = "fields";
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(body instanceof ApiResponse<?> apiResponse) || apiResponse.getData() == null
+                || !(request instanceof ServletServerHttpRequest servletRequest)) {
+            return body;
+        }
+        String fields = servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER);
+        if (fields == null || fields.isBlank()) {
+            return body;
+        }
+
+        Set<String> selected = Arrays.stream(fields.split(","))
+                .map(String::trim)
+                .filter(field -> !field.isEmpty())
+                .collect(Collectors.toSet());
+        JsonNode data = objectMapper.valueToTree(apiResponse.getData());
+        retain(data, selected);
+        return new ApiResponse<>(apiResponse.isSuccess(), apiResponse.getMessage(), data, apiResponse.getErrorCode());
+    }
+
+    private static void retain(JsonNode node, Set<String> fields) {
+        if (node.isArray()) {
+            node.forEach(item -> retainObject(item, fields));
+            return;
+        }
+        JsonNode content = node.get("content");
+        if (content != null && content.isArray()) {
+            content.forEach(item -> retainObject(item, fields));
+        } else {
+            retainObject(node, fields);
+        }
+    }
+
+    private static void retainObject(JsonNode node, Set<String> fields) {
+        if (node instanceof ObjectNode object) {
+            object.retain(fields);
+        }
+    }
+}
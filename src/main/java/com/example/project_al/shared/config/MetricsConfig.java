@@ -0,0 +1,39 @@
+package com.example.project_al.shared.config;
+
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.actuate.metrics.data.DefaultRepositoryTagsProvider;
+import org.springframework.boot.actuate.metrics.data.RepositoryTagsProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String MODULES_PACKAGE = "com.example.project_al.modules.";
+
+    // Module a class belongs to, taken from its package: com.example.project_al.modules.<module>...
+    public static String moduleOf(Class<?> type) {
+        String name = type.getName();
+        if (!name.startsWith(MODULES_PACKAGE)) {
+            return "shared";
+        }
+        int end = name.indexOf('.', MODULES_PACKAGE.length());
+        return end < 0 ? "shared" : name.substring(MODULES_PACKAGE.length(), end);
+    }
+
+    // Spring Data already times every repository call as spring.data.repository.invocations; add the module
+    @Bean
+    public RepositoryTagsProvider moduleRepositoryTagsProvider() {
+        DefaultRepositoryTagsProvider defaults = new DefaultRepositoryTagsProvider();
+        return invocation -> Tags.of(defaults.repositoryTags(invocation))
+                .and(Tag.of("module", moduleOf(invocation.getRepositoryInterface())));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.project_al.shared.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Records how many SQL statements each request ran as app.http.queries, per route. A route whose
+ * count grows with the size of its result is an N+1. Async and SSE requests are counted across
+ * the initial dispatch and the async dispatch that completes them.
+ */
+@Slf4j
+@Component
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String ASYNC_QUERIES = QueryCountInterceptor.class.getName() + ".asyncQueries";
+
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public QueryCountInterceptor(QueryCounter queryCounter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.metrics.queries-per-request.warn-threshold:50}") int warnThreshold) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        queryCounter.start();
+        return true;
+    }
+
+    // The request thread is released here and afterCompletion only runs on the async dispatch
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(ASYNC_QUERIES, queryCounter.stop());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        int queries = queryCounter.stop();
+        if (request.getAttribute(ASYNC_QUERIES) instanceof Integer before) {
+            queries += before;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("app.http.queries")
+                .description("SQL statements executed per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(queries);
+        if (queries > warnThreshold) {
+            log.warn("{} {} ran {} SQL statements", request.getMethod(), uri, queries);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.project_al.shared.kernel;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset scan. The total is only filled in when the caller asked for a count.
+ */
+public record CursorPage<T>(List<T> content, String nextCursor, boolean hasNext, Long totalElements) {
+
+    public static final int MAX_SIZE = 100;
+
+    public static int limit(int requestedSize) {
+        return Math.max(1, Math.min(requestedSize, MAX_SIZE));
+    }
+
+    // Expects up to size + 1 rows; the extra row only signals that another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf, Long totalElements) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(List.copyOf(content), nextCursor, hasNext, totalElements);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), nextCursor, hasNext, totalElements);
+    }
+}
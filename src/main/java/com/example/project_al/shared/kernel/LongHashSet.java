@@ -0,0 +1,151 @@
+package com.example.project_al.shared.kernel;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Open-addressing set of primitive longs, about 8 bytes per element at the default load factor
+ * instead of a boxed entry per element. Zero is reserved as the empty marker, so it holds
+ * database ids only. Not thread-safe.
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.6;
+
+    private long[] slots;
+    private int size;
+    private int resizeAt;
+
+    public LongHashSet() {
+        this(4);
+    }
+
+    public LongHashSet(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    public boolean add(long value) {
+        checkValue(value);
+        int mask = slots.length - 1;
+        int slot = home(value, mask);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = value;
+        if (++size >= resizeAt) {
+            rehash(slots.length << 1);
+        }
+        return true;
+    }
+
+    public boolean contains(long value) {
+        return value != EMPTY && find(value) >= 0;
+    }
+
+    public boolean remove(long value) {
+        if (value == EMPTY) {
+            return false;
+        }
+        int gap = find(value);
+        if (gap < 0) {
+            return false;
+        }
+        // Backward-shift deletion: pull later entries of the probe run into the gap instead of leaving tombstones
+        int mask = slots.length - 1;
+        int slot = gap;
+        while (true) {
+            slot = (slot + 1) & mask;
+            long candidate = slots[slot];
+            if (candidate == EMPTY) {
+                break;
+            }
+            int home = home(candidate, mask);
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                slots[gap] = candidate;
+                gap = slot;
+            }
+        }
+        slots[gap] = EMPTY;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongConsumer action) {
+        for (long value : slots) {
+            if (value != EMPTY) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public long[] toArray() {
+        long[] values = new long[size];
+        int i = 0;
+        for (long value : slots) {
+            if (value != EMPTY) {
+                values[i++] = value;
+            }
+        }
+        return values;
+    }
+
+    private int find(long value) {
+        int mask = slots.length - 1;
+        int slot = home(value, mask);
+        while (slots[slot] != EMPTY) {
+            if (slots[slot] == value) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] previous = slots;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (long value : previous) {
+            if (value != EMPTY) {
+                int slot = home(value, mask);
+                while (slots[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        slots = new long[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 2) / LOAD_FACTOR) + 1;
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+
+    // Fibonacci hashing spreads sequential ids across the table
+    private static int home(long value, int mask) {
+        long hash = value * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static void checkValue(long value) {
+        if (value == EMPTY) {
+            throw new IllegalArgumentException("0 cannot be stored in a LongHashSet");
+        }
+    }
+}
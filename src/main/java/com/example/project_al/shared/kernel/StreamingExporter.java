@@ -0,0 +1,147 @@
+package com.example.project_al.shared.kernel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.lang.reflect.RecordComponent;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Writes a repository stream straight to the response as NDJSON or CSV. Rows are read inside a
+ * read-only transaction on the async request thread and never collected, so memory stays flat
+ * however many rows the query returns. Only export requests get the long async timeout; the
+ * connection is held for the whole download, so Hikari leak warnings for exports are expected.
+ */
+@Slf4j
+@Component
+public class StreamingExporter {
+
+    public static final String REQUEST_TIMEOUT_ATTRIBUTE = StreamingExporter.class.getName() + ".requestTimeout";
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnly;
+    private final int clearInterval;
+    private final Duration requestTimeout;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public StreamingExporter(ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${export.clear-interval:1000}") int clearInterval,
+                             @Value("${export.request-timeout:PT30M}") Duration requestTimeout) {
+        this.objectMapper = objectMapper;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.clearInterval = clearInterval;
+        this.requestTimeout = requestTimeout;
+    }
+
+    public <T extends Record> ResponseEntity<StreamingResponseBody> export(String name,
+                                                                         DataFormat format,
+                                                                         Class<T> type,
+                                                                         Supplier<Stream<T>> rows) {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            long written = readOnly.execute(status -> {
+                try (Stream<T> stream = rows.get()) {
+                    return write(writer, format, type, stream.iterator());
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+            log.info("Exported {} {} rows as {}", written, name, format);
+        };
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            request.setAttribute(REQUEST_TIMEOUT_ATTRIBUTE, requestTimeout, RequestAttributes.SCOPE_REQUEST);
+        }
+        String filename = name + "." + format.extension();
+        return ResponseEntity.ok()
+                .contentType(format.mediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+
+    private <T extends Record> long write(Writer writer, DataFormat format, Class<T> type, Iterator<T> rows)
+            throws IOException {
+        RecordComponent[] columns = type.getRecordComponents();
+        ObjectWriter json = objectMapper.writerFor(type);
+        if (format == DataFormat.CSV) {
+            writeCsvLine(writer, Arrays.stream(columns).map(RecordComponent::getName).toArray());
+        }
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            if (format == DataFormat.CSV) {
+                writeCsvLine(writer, values(row, columns));
+            } else {
+                writer.write(json.writeValueAsString(row));
+                writer.write('\n');
+            }
+            if (++count % clearInterval == 0) {
+                // Nothing read for the export is needed again; keep the persistence context from growing
+                entityManager.clear();
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private static Object[] values(Record row, RecordComponent[] columns) {
+        Object[] values = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            try {
+                values[i] = columns[i].getAccessor().invoke(row);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return values;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.project_al.modules.cart.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CartTest {
+
+    @Test
+    void snapshotRoundTripsLinesInOrder() {
+        Cart cart = new Cart(7L);
+        cart.edit(c -> {
+            c.setLine(3L, 2, new BigDecimal("19.90"));
+            c.setLine(1L, 1, new BigDecimal("5"));
+        });
+
+        Cart.Snapshot snapshot = cart.snapshotIfDirty();
+        Cart restored = Cart.decode(7L, snapshot.content());
+
+        assertThat(restored.getLines()).isEqualTo(cart.getLines());
+        assertThat(restored.total()).isEqualByComparingTo("44.80");
+    }
+
+    @Test
+    void onlyCleanIdleCartsAreEvicted() {
+        Cart cart = new Cart(7L);
+        cart.edit(c -> c.setLine(1L, 1, BigDecimal.ONE));
+
+        assertThat(cart.evictIfIdle(0)).isFalse();
+        cart.markSaved(cart.snapshotIfDirty().revision());
+        assertThat(cart.snapshotIfDirty()).isNull();
+        assertThat(cart.evictIfIdle(0)).isTrue();
+        assertThat(cart.edit(c -> c.clear())).isFalse();
+    }
+
+    @Test
+    void removingAnOrderKeepsLinesAddedSince() {
+        Cart cart = new Cart(7L);
+        cart.edit(c -> {
+            c.setLine(1L, 3, BigDecimal.ONE);
+            c.setLine(2L, 1, BigDecimal.TEN);
+        });
+
+        cart.edit(c -> c.removeOrdered(List.of(new CartLine(1L, 2, BigDecimal.ONE), new CartLine(2L, 1, BigDecimal.TEN))));
+
+        assertThat(cart.getLines()).containsExactly(new CartLine(1L, 1, BigDecimal.ONE));
+    }
+
+    @Test
+    void onlyOneCheckoutRunsAtATime() {
+        Cart cart = new Cart(7L);
+        cart.edit(c -> c.setLine(1L, 1, BigDecimal.ONE));
+        cart.markSaved(cart.snapshotIfDirty().revision());
+
+        assertThat(cart.beginCheckout()).isTrue();
+        assertThatThrownBy(cart::beginCheckout).hasMessage("Checkout already in progress");
+        assertThat(cart.evictIfIdle(0)).isFalse();
+
+        cart.endCheckout();
+        assertThat(cart.beginCheckout()).isTrue();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.project_al.modules.catalog.application;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentionWindowTest {
+
+    private static final long WINDOW = 1_000;
+
+    @Test
+    void becomesHotOnceConflictsAndRatioAreBothReached() {
+        ContentionWindow window = new ContentionWindow(WINDOW, 0);
+        for (int i = 0; i < 20; i++) {
+            window.record(i % 5 == 0, i);
+        }
+
+        assertThat(window.isHot(4, 0.2, 100)).isTrue();
+        assertThat(window.isHot(5, 0.2, 100)).isFalse();
+        assertThat(window.isHot(4, 0.5, 100)).isFalse();
+    }
+
+    @Test
+    void conflictsExpireWithTheirWindow() {
+        ContentionWindow window = new ContentionWindow(WINDOW, 0);
+        for (int i = 0; i < 10; i++) {
+            window.record(true, i);
+        }
+
+        assertThat(window.isHot(5, 0.2, WINDOW + 1)).isFalse();
+    }
+
+    @Test
+    void isColdOnlyAfterAQuietFullWindow() {
+        ContentionWindow window = new ContentionWindow(WINDOW, 0);
+        for (int i = 0; i < 30; i++) {
+            window.record(false, i);
+        }
+
+        assertThat(window.isCold(20, WINDOW + 1)).isFalse();
+        assertThat(window.isCold(20, 2 * WINDOW + 1)).isTrue();
+    }
+}
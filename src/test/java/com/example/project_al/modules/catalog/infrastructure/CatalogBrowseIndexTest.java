@@ -0,0 +1,85 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogBrowseIndexTest {
+
+    private CatalogBrowseIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CatalogBrowseIndex(null);
+        index.index(product(1L, "19.99", 5, 10L, 100L));
+        index.index(product(2L, "5.00", 0, 10L, 200L));
+        index.index(product(3L, "49.50", 2, 11L, 100L));
+        index.index(product(4L, "12.00", 1, 11L, 200L));
+    }
+
+    @Test
+    void combinesFiltersAndCountsFacetsOverMatches() {
+        CatalogBrowseIndex.Result result = index.browse(new CatalogBrowseIndex.Query(
+                new BigDecimal("5.00"), new BigDecimal("20.00"), null, null, true, false), 0, 10);
+
+        assertThat(result.ids()).containsExactly(4L, 1L);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.facets().categories()).containsEntry(10L, 1).containsEntry(11L, 1);
+        assertThat(result.facets().minPrice()).isEqualByComparingTo("12.00");
+    }
+
+    @Test
+    void pagesInPriceOrderWithinCategoriesAndStore() {
+        CatalogBrowseIndex.Result result = index.browse(new CatalogBrowseIndex.Query(
+                null, null, List.of(10L, 11L), 100L, false, true), 1, 1);
+
+        assertThat(result.ids()).containsExactly(1L);
+        assertThat(result.total()).isEqualTo(2);
+    }
+
+    @Test
+    void reflectsPriceChangesDeactivationAndStock() {
+        index.index(product(1L, "3.00", 5, 10L, 100L));
+        index.remove(3L);
+        index.updateStock(2L, true);
+
+        CatalogBrowseIndex.Result result = index.browse(new CatalogBrowseIndex.Query(
+                null, new BigDecimal("100"), null, null, true, false), 0, 10);
+
+        assertThat(result.ids()).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void updatesCommittedDuringRebuildAreReplayedOverTheLoad() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        CatalogBrowseIndex rebuilding = new CatalogBrowseIndex(productRepository);
+        when(productRepository.findActiveSummariesAfter(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            rebuilding.index(product(1L, "3.00", 5, 10L, 100L));
+            rebuilding.updateStock(1L, false);
+            return List.of(product(1L, "19.99", 5, 10L, 100L), product(2L, "5.00", 1, 10L, 200L));
+        });
+
+        rebuilding.rebuild();
+
+        CatalogBrowseIndex.Result all = rebuilding.browse(new CatalogBrowseIndex.Query(
+                null, null, null, null, false, false), 0, 10);
+        assertThat(rebuilding.isReady()).isTrue();
+        assertThat(all.ids()).containsExactly(1L, 2L);
+        assertThat(all.facets().minPrice()).isEqualByComparingTo("3.00");
+        assertThat(all.facets().inStock()).isEqualTo(1);
+    }
+
+    private static ProductSummary product(Long id, String price, int quantity, Long categoryId, Long storeId) {
+        return new ProductSummary(id, "Product " + id, new BigDecimal(price), quantity, "SKU-" + id, null, 0.0,
+                true, categoryId, storeId);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.project_al.modules.catalog.infrastructure;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex(null);
+        index.index(new ProductSearchDocument(1L, "Café noir", "Strong roasted coffee", "CAF-001"));
+        index.index(new ProductSearchDocument(2L, "Coffee mug", "A ceramic mug for your café", "MUG-002"));
+        index.index(new ProductSearchDocument(3L, "Tea pot", "Ceramic tea pot", "TEA-003"));
+    }
+
+    @Test
+    void matchesPrefixesCaseAndAccentInsensitively() {
+        assertThat(index.search("CAF", 0, 10).ids()).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void requiresEveryTokenToMatch() {
+        assertThat(index.search("ceramic mu", 0, 10).ids()).containsExactly(2L);
+    }
+
+    @Test
+    void pagesOverRankedHits() {
+        ProductSearchIndex.SearchResult result = index.search("ceramic", 1, 1);
+
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.hits()).hasSize(1);
+    }
+
+    @Test
+    void removedAndReindexedDocumentsAreReflected() {
+        index.remove(2L);
+        index.index(new ProductSearchDocument(3L, "Tea pot", "Pairs well with coffee", "TEA-003"));
+
+        assertThat(index.search("coffee", 0, 10).ids()).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(index.search("mug", 0, 10).ids()).isEmpty();
+    }
+
+    @Test
+    void cursorPagesFollowThePinnedRankingWhenScoresShift() {
+        ProductSearchIndex.RankedPage first = index.rank("ceramic", 1);
+        index.index(new ProductSearchDocument(4L, "Ceramic ceramic bowl", "Ceramic", "BOWL-004"));
+        index.remove(3L);
+
+        ProductSearchIndex.RankedPage second = index.page(first.session(), "ceramic", 1, 1);
+
+        assertThat(first.total()).isEqualTo(2);
+        assertThat(first.ids()).hasSize(1);
+        assertThat(second.ids()).hasSize(1).doesNotContainAnyElementsOf(first.ids());
+        assertThat(List.of(first.ids().get(0), second.ids().get(0))).containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void updatesCommittedDuringRebuildWinOverTheScan() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductSearchIndex rebuilding = new ProductSearchIndex(productRepository);
+        when(productRepository.findSearchDocuments(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+            rebuilding.index(new ProductSearchDocument(1L, "Espresso cup", null, "CUP-001"));
+            rebuilding.remove(2L);
+            return List.of(new ProductSearchDocument(1L, "Café noir", null, "CAF-001"),
+                    new ProductSearchDocument(2L, "Coffee mug", null, "MUG-002"));
+        });
+
+        rebuilding.rebuild();
+
+        assertThat(rebuilding.isReady()).isTrue();
+        assertThat(rebuilding.search("espresso", 0, 10).ids()).containsExactly(1L);
+        assertThat(rebuilding.search("cafe", 0, 10).ids()).isEmpty();
+        assertThat(rebuilding.search("mug", 0, 10).ids()).isEmpty();
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.project_al.modules.order.application;
+
+import com.example.project_al.modules.catalog.domain.Product;
+import com.example.project_al.modules.order.domain.Order;
+import com.example.project_al.modules.order.domain.OrderItem;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CheckoutPipelineTest {
+
+    private final OrderService orderService = mock(OrderService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> placed = new CopyOnWriteArrayList<>();
+    private final AtomicLong ids = new AtomicLong();
+    private CheckoutPipeline pipeline;
+
+    @AfterEach
+    void stop() {
+        if (pipeline != null && pipeline.isRunning()) {
+            pipeline.stop();
+        }
+    }
+
+    @Test
+    void rejectsCheckoutsOnceThePartitionQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        placeOrders(started, release);
+        pipeline = start(1, 1);
+
+        assertThat(pipeline.submit(order(1L, "a"))).isPresent();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(pipeline.submit(order(1L, "b"))).isPresent();
+        assertThat(pipeline.submit(order(1L, "c"))).isEmpty();
+
+        assertThat(meterRegistry.get("app.checkout.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+
+    @Test
+    void placesCheckoutsOfAProductInSubmissionOrder() throws Exception {
+        placeOrders(new CountDownLatch(0), new CountDownLatch(0));
+        pipeline = start(4, 100);
+
+        List<CheckoutTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            tickets.add(pipeline.submit(order(7L, String.valueOf(i))).orElseThrow());
+        }
+
+        for (CheckoutTicket ticket : tickets) {
+            assertThat(await(ticket).status()).isEqualTo(CheckoutTicket.Status.PLACED);
+        }
+        assertThat(placed).containsExactly("0", "1", "2", "3", "4", "5", "6", "7", "8", "9",
+                "10", "11", "12", "13", "14", "15", "16", "17", "18", "19");
+    }
+
+    @Test
+    void drainsAcceptedCheckoutsBeforeStopping() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        placeOrders(started, release);
+        pipeline = start(1, 10);
+
+        List<CheckoutTicket> tickets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            tickets.add(pipeline.submit(order(1L, String.valueOf(i))).orElseThrow());
+        }
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Thread stopping = new Thread(pipeline::stop);
+        stopping.start();
+        while (pipeline.isRunning()) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(pipeline.submit(order(1L, "late"))).isEmpty();
+        release.countDown();
+        stopping.join(TimeUnit.SECONDS.toMillis(5));
+
+        assertThat(tickets).map(ticket -> pipeline.getTicket(ticket.id()).orElseThrow().status())
+                .containsOnly(CheckoutTicket.Status.PLACED);
+        assertThat(placed).containsExactly("0", "1", "2");
+    }
+
+    private CheckoutPipeline start(int workers, int queueCapacity) {
+        CheckoutPipeline started = new CheckoutPipeline(orderService, meterRegistry, workers, queueCapacity, 1,
+                Duration.ofMinutes(1), Duration.ofSeconds(5));
+        started.start();
+        return started;
+    }
+
+    // The first placement signals started and waits for release; later ones go straight through
+    private void placeOrders(CountDownLatch started, CountDownLatch release) {
+        when(orderService.createOrder(any(Order.class))).thenAnswer(invocation -> {
+            Order order = invocation.getArgument(0);
+            started.countDown();
+            assertThat(release.await(5, TimeUnit.SECONDS)).isTrue();
+            placed.add(order.getIdUnderlist());
+            order.setId(ids.incrementAndGet());
+            return order;
+        });
+    }
+
+    private CheckoutTicket await(CheckoutTicket ticket) throws Exception {
+        return pipeline.awaitTicket(ticket.id()).orElseThrow().get(5, TimeUnit.SECONDS);
+    }
+
+    private static Order order(Long productId, String reference) {
+        Product product = new Product();
+        product.setId(productId);
+        OrderItem item = new OrderItem();
+        item.setProduct(product);
+        item.setQuantity(1);
+        Order order = new Order();
+        order.setIdUnderlist(reference);
+        order.addOrderItem(item);
+        return order;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.project_al.modules.order.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderItemTest {
+
+    @Test
+    void keepsASubtotalThatWasSetDirectly() {
+        OrderItem item = new OrderItem();
+        item.setSubtotal(new BigDecimal("12.34"));
+
+        assertThat(item.getSubtotal()).isEqualByComparingTo("12.34");
+        assertThat(item.subtotalMinor()).isEqualTo(1234L);
+        assertThat(item.getUnitPrice()).isNull();
+    }
+
+    @Test
+    void calculatesTheSubtotalFromUnitPriceAndQuantity() {
+        OrderItem item = new OrderItem();
+        item.setUnitPrice(new BigDecimal("19.99"));
+        item.setQuantity(3);
+        assertThat(item.getSubtotal()).isNull();
+
+        item.calculateSubtotal();
+
+        assertThat(item.getSubtotal()).isEqualByComparingTo("59.97");
+    }
+}
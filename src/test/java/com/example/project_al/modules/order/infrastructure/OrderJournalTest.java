@@ -0,0 +1,123 @@
+package com.example.project_al.modules.order.infrastructure;
+
+import com.example.project_al.modules.order.domain.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderJournalTest {
+
+    // Small segments so a handful of records spans several files
+    private static final int SEGMENT_SIZE = 512;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void replaysAnOrderTimelineAfterReopening() throws Exception {
+        OrderJournal journal = open();
+        journal.append(new OrderJournal.Entry(1L, 1_000, null, OrderStatus.PLACED, null));
+        journal.append(new OrderJournal.Entry(2L, 1_001, null, OrderStatus.PLACED, null));
+        journal.append(new OrderJournal.Entry(1L, 2_000, OrderStatus.PLACED, OrderStatus.CONFIRMED, null));
+        journal.append(new OrderJournal.Entry(1L, 3_000, OrderStatus.CONFIRMED, OrderStatus.SHIPPED, "TRACK1"));
+        journal.shutdown();
+
+        List<OrderJournal.Entry> timeline = open().replay(1L);
+
+        assertThat(timeline).extracting(OrderJournal.Entry::status)
+                .containsExactly(OrderStatus.PLACED, OrderStatus.CONFIRMED, OrderStatus.SHIPPED);
+        assertThat(timeline.get(2).detail()).isEqualTo("TRACK1");
+        assertThat(timeline.get(0).previousStatus()).isNull();
+    }
+
+    @Test
+    void rollsSegmentsAndReplaysEverythingInOrder() throws Exception {
+        OrderJournal journal = open();
+        for (long id = 1; id <= 40; id++) {
+            journal.append(new OrderJournal.Entry(id, id, null, OrderStatus.PLACED, null));
+        }
+        journal.shutdown();
+
+        List<Long> replayed = new ArrayList<>();
+        open().replayAll(entry -> replayed.add(entry.orderId()));
+
+        assertThat(segmentCount()).isGreaterThan(1);
+        assertThat(replayed).hasSize(40).isSorted();
+    }
+
+    @Test
+    void compactionDropsOrdersFinishedBeforeTheCutoff() throws Exception {
+        OrderJournal journal = open();
+        journal.append(new OrderJournal.Entry(1L, 100, null, OrderStatus.PLACED, null));
+        journal.append(new OrderJournal.Entry(1L, 200, OrderStatus.PLACED, OrderStatus.CANCELLED, null));
+        journal.append(new OrderJournal.Entry(2L, 300, null, OrderStatus.PLACED, null));
+        for (long id = 3; id <= 30; id++) {
+            journal.append(new OrderJournal.Entry(id, 1_000 + id, null, OrderStatus.PLACED, null));
+        }
+        journal.shutdown();
+
+        OrderJournal reopened = open();
+        reopened.compact(500);
+
+        assertThat(reopened.replay(1L)).isEmpty();
+        assertThat(reopened.replay(2L)).hasSize(1);
+        assertThat(open().replay(2L)).hasSize(1);
+    }
+
+    @Test
+    void compactionKeepsOrdersWhoseNewestRecordIsInTheActiveSegment() throws Exception {
+        OrderJournal journal = open();
+        journal.append(new OrderJournal.Entry(1L, 100, null, OrderStatus.PLACED, null));
+        journal.append(new OrderJournal.Entry(1L, 150, OrderStatus.PLACED, OrderStatus.DELIVERED, null));
+        for (long id = 3; id <= 30; id++) {
+            journal.append(new OrderJournal.Entry(id, 1_000 + id, null, OrderStatus.PLACED, null));
+        }
+        journal.append(new OrderJournal.Entry(1L, 200, OrderStatus.DELIVERED, OrderStatus.REFUNDED, null));
+        journal.shutdown();
+
+        OrderJournal reopened = open();
+        reopened.compact(500);
+
+        assertThat(reopened.replay(1L)).extracting(OrderJournal.Entry::status)
+                .containsExactly(OrderStatus.PLACED, OrderStatus.DELIVERED, OrderStatus.REFUNDED);
+    }
+
+    @Test
+    void deletedOrdersAreCompactedAfterTheirRemoval() throws Exception {
+        OrderJournal journal = open();
+        journal.append(new OrderJournal.Entry(1L, 100, null, OrderStatus.PLACED, null));
+        journal.append(OrderJournal.Entry.removed(1L, 120, OrderStatus.PLACED));
+        for (long id = 3; id <= 30; id++) {
+            journal.append(new OrderJournal.Entry(id, 1_000 + id, null, OrderStatus.PLACED, null));
+        }
+        journal.shutdown();
+
+        OrderJournal reopened = open();
+        assertThat(reopened.replay(1L).get(1).isRemoval()).isTrue();
+        reopened.compact(500);
+
+        assertThat(reopened.replay(1L)).isEmpty();
+    }
+
+    private OrderJournal open() {
+        OrderJournal journal = new OrderJournal(directory, SEGMENT_SIZE, 1024, 10, Duration.ofDays(1),
+                new SimpleMeterRegistry());
+        journal.start();
+        return journal;
+    }
+
+    private long segmentCount() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.toString().endsWith(".journal")).count();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.project_al.modules.stores.application;
+
+import com.example.project_al.modules.stores.infrastructure.FeedItem;
+import com.example.project_al.modules.stores.infrastructure.PostRepository;
+import com.example.project_al.modules.stores.infrastructure.PostSummary;
+import com.example.project_al.modules.user.application.FollowGraph;
+import com.example.project_al.modules.user.infrastructure.FollowRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class FeedServiceTest {
+
+    private static final long BUYER = 1L;
+    private static final long SELLER = 7L;
+    private static final long STORE = 5L;
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final FollowRepository followRepository = mock(FollowRepository.class);
+    private FollowGraph followGraph;
+    private FeedService feedService;
+
+    @BeforeEach
+    void setUp() {
+        when(followRepository.findEdgesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+        when(postRepository.findSummariesByIdIn(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new PostSummary(id, "post " + id, null, null, null, STORE)).toList();
+        });
+        followGraph = new FollowGraph(followRepository);
+        feedService = new FeedService(postRepository, followGraph, new SimpleMeterRegistry(),
+                200, 5000, 1000, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void readsTheDatabaseUntilTheFollowGraphIsLoaded() {
+        when(postRepository.findFeedItemsBefore(BUYER, Long.MAX_VALUE, PageRequest.of(0, 21)))
+                .thenReturn(List.of(item(11L), item(10L)));
+
+        List<PostSummary> feed = feedService.getFeed(BUYER, null, 20).content();
+
+        assertThat(feed).extracting(PostSummary::id).containsExactly(11L, 10L);
+        verify(postRepository, never()).findFeedItemsBefore(eq(BUYER), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 200)));
+    }
+
+    @Test
+    void mergesPublishedPostsIntoTheTimelineOnceLoaded() {
+        followGraph.load();
+        followGraph.follow(BUYER, SELLER);
+        when(postRepository.findFeedItemsBefore(BUYER, Long.MAX_VALUE, PageRequest.of(0, 200)))
+                .thenReturn(List.of(item(10L)));
+
+        feedService.getFeed(BUYER, null, 20);
+        feedService.publish(item(11L));
+        List<PostSummary> feed = feedService.getFeed(BUYER, null, 20).content();
+
+        assertThat(feed).extracting(PostSummary::id).containsExactly(11L, 10L);
+        verify(postRepository, never()).findFeedItemsBefore(eq(BUYER), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 21)));
+    }
+
+    private static FeedItem item(long postId) {
+        return new FeedItem(postId, STORE, SELLER);
+    }
+}
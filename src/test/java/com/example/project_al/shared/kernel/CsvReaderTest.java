@@ -0,0 +1,23 @@
+package com.example.project_al.shared.kernel;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void readsQuotedFieldsWithSeparatorsQuotesAndLineBreaks() throws IOException {
+        CsvReader reader = new CsvReader(new StringReader("sku,name\r\nA-1,\"Mug, \"\"large\"\"\"\n\"B\n2\",x\nC,"));
+
+        assertThat(reader.next()).containsExactly("sku", "name");
+        assertThat(reader.next()).containsExactly("A-1", "Mug, \"large\"");
+        assertThat(reader.next()).containsExactly("B\n2", "x");
+        assertThat(reader.line()).isEqualTo(5);
+        assertThat(reader.next()).containsExactly("C", "");
+        assertThat(reader.next()).isNull();
+    }
+}
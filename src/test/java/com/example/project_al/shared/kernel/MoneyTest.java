@@ -0,0 +1,27 @@
+package com.example.project_al.shared.kernel;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MoneyTest {
+
+    @Test
+    void roundTripsThroughMinorUnits() {
+        assertThat(Money.toMinor(new BigDecimal("19.99"))).isEqualTo(1999);
+        assertThat(Money.toMinor(new BigDecimal("5"))).isEqualTo(500);
+        assertThat(Money.toMinor(new BigDecimal("0.125"))).isEqualTo(13);
+        assertThat(Money.toDecimal(1999)).isEqualTo(new BigDecimal("19.99"));
+    }
+
+    @Test
+    void arithmeticIsExact() {
+        assertThat(Money.times(1999, 3)).isEqualTo(5997);
+        assertThat(Money.minus(Money.plus(1999, 1), 500)).isEqualTo(1500);
+        assertThatThrownBy(() -> Money.times(Long.MAX_VALUE / 2, 3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.toMinor(new BigDecimal("1e30"))).isInstanceOf(ArithmeticException.class);
+    }
+}